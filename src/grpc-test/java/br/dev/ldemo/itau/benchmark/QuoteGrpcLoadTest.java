@@ -0,0 +1,163 @@
+package br.dev.ldemo.itau.benchmark;
+
+import br.dev.ldemo.itau.grpc.proto.CustomerInput;
+import br.dev.ldemo.itau.grpc.proto.QuoteRequest;
+import br.dev.ldemo.itau.grpc.proto.QuoteServiceGrpc;
+import br.dev.ldemo.itau.grpc.proto.QuoteStreamReply;
+import br.dev.ldemo.itau.grpc.proto.QuoteStreamRequest;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.stub.StreamObserver;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop load generator for the gRPC {@code Quote} call, with the same request and output as
+ * {@code QuoteLoadTest} (REST), so both paths can be compared at the same concurrency. All clients share
+ * one HTTP/2 connection. In {@code stream} mode each client keeps one {@code QuoteStream} open and sends
+ * the next quote when the previous reply arrives.
+ * <p>
+ * Usage: {@code QuoteGrpcLoadTest [host:port] [concurrentClients] [durationSeconds] [unary|stream]}
+ */
+public final class QuoteGrpcLoadTest {
+
+    private static final int MAX_SAMPLES = 1_000_000;
+
+    private static final CustomerInput CUSTOMER = CustomerInput.newBuilder()
+            .setName("Nome do Cliente")
+            .setDocument("12345678900")
+            .setBirthDate(Math.toIntExact(LocalDate.of(1990, 1, 1).toEpochDay()))
+            .setLocation("SP")
+            .setVehicleValue(50000.0)
+            .build();
+
+    private QuoteGrpcLoadTest() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        String target = args.length > 0 ? args[0] : "localhost:9090";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        Duration duration = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 30);
+        boolean stream = args.length > 3 && args[3].equals("stream");
+
+        ManagedChannel channel = ManagedChannelBuilder.forTarget(target).usePlaintext().build();
+        long[] latencies = new long[MAX_SAMPLES];
+        AtomicLong samples = new AtomicLong();
+        LongAdder errors = new LongAdder();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                executor.submit(() -> {
+                    Client client = stream ? new StreamClient(channel) : new UnaryClient(channel);
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            if (!client.quote()) {
+                                errors.increment();
+                            }
+                        } catch (Exception e) {
+                            errors.increment();
+                        }
+                        long sample = samples.getAndIncrement();
+                        if (sample < MAX_SAMPLES) {
+                            latencies[(int) sample] = System.nanoTime() - start;
+                        }
+                    }
+                    client.close();
+                    return null;
+                });
+            }
+        } finally {
+            channel.shutdown().awaitTermination(5, TimeUnit.SECONDS);
+        }
+
+        int recorded = (int) Math.min(samples.get(), MAX_SAMPLES);
+        long[] sorted = Arrays.copyOf(latencies, recorded);
+        Arrays.sort(sorted);
+        System.out.printf("mode=%s clients=%d duration=%ds requests=%d errors=%d throughput=%.1f req/s%n",
+                stream ? "stream" : "unary", clients, duration.toSeconds(), samples.get(), errors.sum(),
+                samples.get() / (double) duration.toSeconds());
+        System.out.printf("latency p50=%.2fms p99=%.2fms max=%.2fms%n",
+                percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 1.0));
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private interface Client {
+
+        boolean quote() throws InterruptedException;
+
+        default void close() {
+        }
+    }
+
+    private static final class UnaryClient implements Client {
+
+        private static final QuoteRequest REQUEST = QuoteRequest.newBuilder().setCustomer(CUSTOMER).build();
+
+        private final QuoteServiceGrpc.QuoteServiceBlockingStub stub;
+
+        private UnaryClient(ManagedChannel channel) {
+            this.stub = QuoteServiceGrpc.newBlockingStub(channel);
+        }
+
+        @Override
+        public boolean quote() {
+            return stub.quote(REQUEST).getId() > 0;
+        }
+    }
+
+    private static final class StreamClient implements Client {
+
+        private static final QuoteStreamRequest REQUEST = QuoteStreamRequest.newBuilder().setCustomer(CUSTOMER).build();
+
+        private final BlockingQueue<Object> replies = new ArrayBlockingQueue<>(1);
+        private final StreamObserver<QuoteStreamRequest> requests;
+
+        private StreamClient(ManagedChannel channel) {
+            this.requests = QuoteServiceGrpc.newStub(channel).quoteStream(new StreamObserver<>() {
+                @Override
+                public void onNext(QuoteStreamReply reply) {
+                    replies.offer(reply);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    replies.offer(t);
+                }
+
+                @Override
+                public void onCompleted() {
+                }
+            });
+        }
+
+        @Override
+        public boolean quote() throws InterruptedException {
+            requests.onNext(REQUEST);
+            Object reply = replies.poll(10, TimeUnit.SECONDS);
+            return reply instanceof QuoteStreamReply streamReply && streamReply.hasQuote();
+        }
+
+        @Override
+        public void close() {
+            requests.onCompleted();
+        }
+    }
+}
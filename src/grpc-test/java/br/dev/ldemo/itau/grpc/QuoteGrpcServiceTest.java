@@ -0,0 +1,182 @@
+package br.dev.ldemo.itau.grpc;
+
+import br.dev.ldemo.itau.dto.CustomerOutputDto;
+import br.dev.ldemo.itau.dto.CustomerWrapper;
+import br.dev.ldemo.itau.exception.QuoteQueueFullException;
+import br.dev.ldemo.itau.exception.ResourceNotFoundException;
+import br.dev.ldemo.itau.grpc.proto.CustomerInput;
+import br.dev.ldemo.itau.grpc.proto.GetQuoteRequest;
+import br.dev.ldemo.itau.grpc.proto.Quote;
+import br.dev.ldemo.itau.grpc.proto.QuoteRequest;
+import br.dev.ldemo.itau.grpc.proto.QuoteServiceGrpc;
+import br.dev.ldemo.itau.grpc.proto.QuoteStreamReply;
+import br.dev.ldemo.itau.grpc.proto.QuoteStreamRequest;
+import br.dev.ldemo.itau.service.CustomerServiceImpl;
+import br.dev.ldemo.itau.service.QuoteMetrics;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class QuoteGrpcServiceTest {
+
+    @Mock
+    private CustomerServiceImpl customerService;
+
+    @Mock
+    private QuoteMetrics quoteMetrics;
+
+    private Server server;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        QuoteGrpcService service = new QuoteGrpcService(customerService,
+                Validation.buildDefaultValidatorFactory().getValidator(), quoteMetrics);
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name).directExecutor().addService(service).build().start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    void quote_ShouldReturnCalculatedQuote() {
+        // Arrange
+        when(customerService.calculateInsurance(any(CustomerWrapper.class), isNull()))
+                .thenReturn(new CustomerOutputDto(7L, "Maria", "SP", 2500.0));
+
+        // Act
+        Quote quote = QuoteServiceGrpc.newBlockingStub(channel)
+                .quote(QuoteRequest.newBuilder().setCustomer(customer("Maria")).build());
+
+        // Assert
+        assertEquals(Quote.newBuilder().setId(7L).setName("Maria").setLocation("SP").setVehicleValue(2500.0).build(), quote);
+    }
+
+    @Test
+    void quote_ShouldFailWithInvalidArgument_WhenInputIsInvalid() {
+        // Act
+        StatusRuntimeException e = assertThrows(StatusRuntimeException.class, () -> QuoteServiceGrpc.newBlockingStub(channel)
+                .quote(QuoteRequest.newBuilder().setCustomer(customer("")).build()));
+
+        // Assert
+        assertEquals(Status.Code.INVALID_ARGUMENT, e.getStatus().getCode());
+        assertTrue(e.getStatus().getDescription().startsWith("name "), e.getStatus().getDescription());
+        verifyNoInteractions(customerService);
+    }
+
+    @Test
+    void getQuote_ShouldFailWithNotFound() {
+        // Arrange
+        when(customerService.getCustomerById(1L)).thenThrow(new ResourceNotFoundException("Customer not found"));
+
+        // Act
+        StatusRuntimeException e = assertThrows(StatusRuntimeException.class, () -> QuoteServiceGrpc.newBlockingStub(channel)
+                .getQuote(GetQuoteRequest.newBuilder().setId(1L).build()));
+
+        // Assert
+        assertEquals(Status.Code.NOT_FOUND, e.getStatus().getCode());
+    }
+
+    @Test
+    void quoteStream_ShouldAnswerEveryItemInOrder() throws InterruptedException {
+        // Arrange
+        when(customerService.calculateInsurance(any(CustomerWrapper.class)))
+                .thenReturn(new CustomerOutputDto(7L, "Maria", "SP", 2500.0));
+
+        // Act
+        List<QuoteStreamReply> replies = quoteStream(customer("Maria"), customer(""), customer("Joao"));
+
+        // Assert
+        assertEquals(3, replies.size());
+        assertEquals(7L, replies.get(0).getQuote().getId());
+        assertTrue(replies.get(1).getError().startsWith("name "), replies.get(1).getError());
+        assertEquals(Status.Code.INVALID_ARGUMENT.name(), replies.get(1).getErrorCode());
+        assertEquals(2L, replies.get(2).getIndex());
+        assertTrue(replies.get(2).hasQuote());
+    }
+
+    @Test
+    void quoteStream_WhenQueueIsFull_ShouldAnswerUnavailable() throws InterruptedException {
+        // Arrange
+        when(customerService.calculateInsurance(any(CustomerWrapper.class)))
+                .thenThrow(new QuoteQueueFullException("Quote queue is full, retry later"))
+                .thenReturn(new CustomerOutputDto(7L, "Maria", "SP", 2500.0));
+
+        // Act
+        List<QuoteStreamReply> replies = quoteStream(customer("Maria"), customer("Maria"));
+
+        // Assert
+        assertEquals(2, replies.size());
+        assertEquals("Quote queue is full, retry later", replies.get(0).getError());
+        assertEquals(Status.Code.UNAVAILABLE.name(), replies.get(0).getErrorCode());
+        assertTrue(replies.get(1).hasQuote());
+    }
+
+    private List<QuoteStreamReply> quoteStream(CustomerInput... customers) throws InterruptedException {
+        List<QuoteStreamReply> replies = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        StreamObserver<QuoteStreamRequest> requests = QuoteServiceGrpc.newStub(channel).quoteStream(new StreamObserver<>() {
+            @Override
+            public void onNext(QuoteStreamReply reply) {
+                replies.add(reply);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                done.countDown();
+            }
+
+            @Override
+            public void onCompleted() {
+                done.countDown();
+            }
+        });
+        for (CustomerInput customer : customers) {
+            requests.onNext(QuoteStreamRequest.newBuilder().setCustomer(customer).build());
+        }
+        requests.onCompleted();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        return replies;
+    }
+
+    private static CustomerInput customer(String name) {
+        return CustomerInput.newBuilder()
+                .setName(name)
+                .setDocument("12345678900")
+                .setBirthDate(Math.toIntExact(LocalDate.of(1990, 1, 1).toEpochDay()))
+                .setLocation("SP")
+                .setVehicleValue(50000.0)
+                .build();
+    }
+}
@@ -0,0 +1,89 @@
+package br.dev.ldemo.itau.grpc;
+
+import io.grpc.BindableService;
+import io.grpc.Server;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.protobuf.services.HealthStatusManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the gRPC services on their own HTTP/2 port ({@code app.grpc.port}), next to the servlet container.
+ * Calls run on virtual threads, so a call blocked on JDBC does not hold a platform thread; many calls share
+ * one connection through HTTP/2 streams.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.grpc", name = "enabled", havingValue = "true")
+public class GrpcServer implements SmartLifecycle {
+
+    private final List<BindableService> services;
+    private final int port;
+    private final int maxConcurrentCallsPerConnection;
+    private final Duration shutdownTimeout;
+
+    private Server server;
+    private ExecutorService executor;
+
+    public GrpcServer(List<BindableService> services,
+                      @Value("${app.grpc.port:9090}") int port,
+                      @Value("${app.grpc.max-concurrent-calls-per-connection:1000}") int maxConcurrentCallsPerConnection,
+                      @Value("${app.grpc.shutdown-timeout:30s}") Duration shutdownTimeout) {
+        this.services = services;
+        this.port = port;
+        this.maxConcurrentCallsPerConnection = maxConcurrentCallsPerConnection;
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    @Override
+    public void start() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        HealthStatusManager health = new HealthStatusManager();
+        NettyServerBuilder builder = NettyServerBuilder.forPort(port)
+                .executor(executor)
+                .maxConcurrentCallsPerConnection(maxConcurrentCallsPerConnection)
+                .addService(health.getHealthService());
+        services.forEach(builder::addService);
+        try {
+            server = builder.build().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start gRPC server on port " + port, e);
+        }
+        log.info("gRPC server started on port {} with {} services", server.getPort(), services.size());
+    }
+
+    @Override
+    public void stop() {
+        if (server == null) {
+            return;
+        }
+        server.shutdown();
+        try {
+            if (!server.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                server.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            server.shutdownNow();
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdown();
+            server = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+}
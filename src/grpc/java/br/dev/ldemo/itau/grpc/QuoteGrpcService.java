@@ -0,0 +1,212 @@
+package br.dev.ldemo.itau.grpc;
+
+import br.dev.ldemo.itau.dto.CustomerInputDto;
+import br.dev.ldemo.itau.dto.CustomerOutputDto;
+import br.dev.ldemo.itau.dto.CustomerWrapper;
+import br.dev.ldemo.itau.exception.IdempotencyKeyReusedException;
+import br.dev.ldemo.itau.exception.QuoteQueueFullException;
+import br.dev.ldemo.itau.exception.ResourceNotFoundException;
+import br.dev.ldemo.itau.grpc.proto.DeleteQuoteRequest;
+import br.dev.ldemo.itau.grpc.proto.GetQuoteRequest;
+import br.dev.ldemo.itau.grpc.proto.ListQuotesRequest;
+import br.dev.ldemo.itau.grpc.proto.Quote;
+import br.dev.ldemo.itau.grpc.proto.QuoteRequest;
+import br.dev.ldemo.itau.grpc.proto.QuoteServiceGrpc;
+import br.dev.ldemo.itau.grpc.proto.QuoteStreamReply;
+import br.dev.ldemo.itau.grpc.proto.QuoteStreamRequest;
+import br.dev.ldemo.itau.grpc.proto.UpdateQuoteRequest;
+import br.dev.ldemo.itau.logging.LogMarkers;
+import br.dev.ldemo.itau.service.CustomerServiceImpl;
+import br.dev.ldemo.itau.service.QuoteMetrics;
+import com.google.protobuf.Empty;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * gRPC front of {@link CustomerServiceImpl}: same operations, validation and errors as the REST controller,
+ * with REST statuses mapped to gRPC codes (400 to INVALID_ARGUMENT, 404 to NOT_FOUND, 422 to FAILED_PRECONDITION,
+ * 503 to UNAVAILABLE).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.grpc", name = "enabled", havingValue = "true")
+public class QuoteGrpcService extends QuoteServiceGrpc.QuoteServiceImplBase {
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+
+    private final CustomerServiceImpl service;
+    private final Validator validator;
+    private final QuoteMetrics quoteMetrics;
+
+    public QuoteGrpcService(CustomerServiceImpl service, Validator validator, QuoteMetrics quoteMetrics) {
+        this.service = service;
+        this.validator = validator;
+        this.quoteMetrics = quoteMetrics;
+    }
+
+    @Override
+    public void quote(QuoteRequest request, StreamObserver<Quote> responseObserver) {
+        try {
+            CustomerInputDto customer = validated(QuoteMessages.toDto(request.getCustomer()));
+            log.info(LogMarkers.HOT_PATH, "Calculating insurance for customer {} over gRPC", customer);
+            String idempotencyKey = request.getIdempotencyKey().isEmpty() ? null : request.getIdempotencyKey();
+            CustomerOutputDto quote = service.calculateInsurance(wrap(customer), idempotencyKey);
+            responseObserver.onNext(QuoteMessages.toMessage(quote));
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus(e));
+        }
+    }
+
+    /**
+     * Each request message is quoted and answered before the next one is requested from the client, and no
+     * message is requested while the response side is not ready, so a slow client holds back its own sender
+     * instead of filling server buffers.
+     */
+    @Override
+    public StreamObserver<QuoteStreamRequest> quoteStream(StreamObserver<QuoteStreamReply> responseObserver) {
+        ServerCallStreamObserver<QuoteStreamReply> call = (ServerCallStreamObserver<QuoteStreamReply>) responseObserver;
+        call.disableAutoRequest();
+        AtomicBoolean wasReady = new AtomicBoolean();
+        call.setOnReadyHandler(() -> {
+            if (call.isReady() && wasReady.compareAndSet(false, true)) {
+                call.request(1);
+            }
+        });
+        return new StreamObserver<>() {
+
+            private long index;
+
+            @Override
+            public void onNext(QuoteStreamRequest request) {
+                long itemIndex = index++;
+                QuoteStreamReply.Builder reply = QuoteStreamReply.newBuilder().setIndex(itemIndex);
+                try {
+                    CustomerInputDto customer = validated(QuoteMessages.toDto(request.getCustomer()));
+                    reply.setQuote(QuoteMessages.toMessage(service.calculateInsurance(wrap(customer))));
+                } catch (IllegalArgumentException e) {
+                    quoteMetrics.validationFailed();
+                    reply.setError(e.getMessage()).setErrorCode(Status.Code.INVALID_ARGUMENT.name());
+                } catch (QuoteQueueFullException e) {
+                    reply.setError(e.getMessage()).setErrorCode(Status.Code.UNAVAILABLE.name());
+                } catch (RuntimeException e) {
+                    log.error("Failed to quote stream item {}", itemIndex, e);
+                    reply.setError("Failed to save quote").setErrorCode(Status.Code.INTERNAL.name());
+                }
+                call.onNext(reply.build());
+                if (call.isReady()) {
+                    call.request(1);
+                } else {
+                    wasReady.set(false);
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                log.warn("Quote stream cancelled by the client after {} items: {}", index, t.getMessage());
+            }
+
+            @Override
+            public void onCompleted() {
+                log.info("Quote stream finished with {} items", index);
+                call.onCompleted();
+            }
+        };
+    }
+
+    @Override
+    public void getQuote(GetQuoteRequest request, StreamObserver<Quote> responseObserver) {
+        try {
+            responseObserver.onNext(QuoteMessages.toMessage(service.getCustomerById(request.getId())));
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus(e));
+        }
+    }
+
+    @Override
+    public void listQuotes(ListQuotesRequest request, StreamObserver<Quote> responseObserver) {
+        try {
+            int limit = request.getLimit() > 0 ? request.getLimit() : DEFAULT_PAGE_SIZE;
+            List<CustomerOutputDto> quotes = service.getInsurancePage(request.getAfter(), limit);
+            quotes.forEach(quote -> responseObserver.onNext(QuoteMessages.toMessage(quote)));
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus(e));
+        }
+    }
+
+    @Override
+    public void updateQuote(UpdateQuoteRequest request, StreamObserver<Quote> responseObserver) {
+        try {
+            CustomerInputDto customer = validated(QuoteMessages.toDto(request.getCustomer()));
+            responseObserver.onNext(QuoteMessages.toMessage(service.update(request.getId(), customer)));
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus(e));
+        }
+    }
+
+    @Override
+    public void deleteQuote(DeleteQuoteRequest request, StreamObserver<Empty> responseObserver) {
+        try {
+            service.delete(request.getId());
+            responseObserver.onNext(Empty.getDefaultInstance());
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus(e));
+        }
+    }
+
+    /**
+     * Bean validation of the input, as {@code @Valid} does for the REST body; violations become an
+     * {@link IllegalArgumentException} with the same message format.
+     */
+    private CustomerInputDto validated(CustomerInputDto customer) {
+        Set<ConstraintViolation<CustomerInputDto>> violations = validator.validate(customer);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        return customer;
+    }
+
+    private static CustomerWrapper wrap(CustomerInputDto customer) {
+        CustomerWrapper wrapper = new CustomerWrapper();
+        wrapper.setCustomer(customer);
+        return wrapper;
+    }
+
+    private StatusRuntimeException toStatus(RuntimeException e) {
+        Status status;
+        if (e instanceof ResourceNotFoundException) {
+            quoteMetrics.notFound();
+            status = Status.NOT_FOUND;
+        } else if (e instanceof IllegalArgumentException) {
+            quoteMetrics.validationFailed();
+            status = Status.INVALID_ARGUMENT;
+        } else if (e instanceof IdempotencyKeyReusedException) {
+            status = Status.FAILED_PRECONDITION;
+        } else if (e instanceof QuoteQueueFullException) {
+            status = Status.UNAVAILABLE;
+        } else {
+            log.error("Unexpected error in gRPC call", e);
+            return Status.INTERNAL.withDescription("Unexpected error").asRuntimeException();
+        }
+        return status.withDescription(e.getMessage()).asRuntimeException();
+    }
+}
@@ -0,0 +1,60 @@
+package br.dev.ldemo.itau.grpc;
+
+import br.dev.ldemo.itau.dto.CustomerInputDto;
+import br.dev.ldemo.itau.dto.CustomerOutputDto;
+import br.dev.ldemo.itau.grpc.proto.CustomerInput;
+import br.dev.ldemo.itau.grpc.proto.Quote;
+
+import java.time.LocalDate;
+
+/**
+ * Conversion between the protobuf messages and the REST DTOs.
+ */
+final class QuoteMessages {
+
+    private QuoteMessages() {
+    }
+
+    /**
+     * Empty strings (the protobuf default) become null, so the bean validation messages match the REST API.
+     */
+    static CustomerInputDto toDto(CustomerInput input) {
+        return new CustomerInputDto(
+                emptyToNull(input.getName()),
+                emptyToNull(input.getDocument()),
+                input.hasBirthDate() ? LocalDate.ofEpochDay(input.getBirthDate()) : null,
+                emptyToNull(input.getLocation()),
+                input.getVehicleValue());
+    }
+
+    static CustomerInput toMessage(CustomerInputDto dto) {
+        CustomerInput.Builder builder = CustomerInput.newBuilder()
+                .setName(dto.name())
+                .setDocument(dto.document())
+                .setLocation(dto.location())
+                .setVehicleValue(dto.vehicle_value());
+        if (dto.birthDate() != null) {
+            builder.setBirthDate(Math.toIntExact(dto.birthDate().toEpochDay()));
+        }
+        return builder.build();
+    }
+
+    static Quote toMessage(CustomerOutputDto dto) {
+        Quote.Builder builder = Quote.newBuilder()
+                .setVehicleValue(dto.vehicle_value());
+        if (dto.id() != null) {
+            builder.setId(dto.id());
+        }
+        if (dto.name() != null) {
+            builder.setName(dto.name());
+        }
+        if (dto.location() != null) {
+            builder.setLocation(dto.location());
+        }
+        return builder.build();
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
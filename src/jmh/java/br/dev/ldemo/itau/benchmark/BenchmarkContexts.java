@@ -0,0 +1,27 @@
+package br.dev.ldemo.itau.benchmark;
+
+import br.dev.ldemo.itau.DemoItauApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Boots the application for benchmarks against an embedded H2 database of their own.
+ */
+final class BenchmarkContexts {
+
+    private BenchmarkContexts() {
+    }
+
+    static ConfigurableApplicationContext start(WebApplicationType webApplicationType) {
+        return new SpringApplicationBuilder(DemoItauApplication.class)
+                .web(webApplicationType)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.devtools.restart.enabled=false",
+                        "spring.jpa.open-in-view=false",
+                        "server.port=0",
+                        "logging.level.root=warn")
+                .run();
+    }
+}
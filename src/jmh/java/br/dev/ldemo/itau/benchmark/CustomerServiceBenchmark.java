@@ -0,0 +1,65 @@
+package br.dev.ldemo.itau.benchmark;
+
+import br.dev.ldemo.itau.dto.CustomerInputDto;
+import br.dev.ldemo.itau.dto.CustomerOutputDto;
+import br.dev.ldemo.itau.dto.CustomerWrapper;
+import br.dev.ldemo.itau.repository.CustomerRespository;
+import br.dev.ldemo.itau.service.CustomerServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CustomerServiceImpl#calculateInsurance} against embedded H2: pricing plus the insert.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerServiceBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private CustomerServiceImpl service;
+    private CustomerRespository repository;
+    private CustomerWrapper wrapper;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContexts.start(WebApplicationType.NONE);
+        service = context.getBean(CustomerServiceImpl.class);
+        repository = context.getBean(CustomerRespository.class);
+        wrapper = new CustomerWrapper();
+        wrapper.setCustomer(new CustomerInputDto("Jonatan", "12345678900", LocalDate.of(1990, 1, 1), "SP", 50000.0));
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearTable() {
+        repository.deleteAllInBatch();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CustomerOutputDto calculateInsurance() {
+        return service.calculateInsurance(wrapper);
+    }
+}
@@ -0,0 +1,57 @@
+package br.dev.ldemo.itau.benchmark;
+
+import br.dev.ldemo.itau.service.InsuranceCalculatorServiceImpl;
+import br.dev.ldemo.itau.service.pricing.Location;
+import br.dev.ldemo.itau.service.pricing.PricingProperties;
+import br.dev.ldemo.itau.service.pricing.PricingRuleEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boxed/string pricing path against the primitive/{@link Location} one. Run with {@code -prof gc}
+ * (the default of the jmh profile) to get B/op next to ns/op.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InsuranceCalculatorBenchmark {
+
+    @Param({"50000", "85000", "150000"})
+    private double vehicleValue;
+
+    @Param({"SP", "rj"})
+    private String location;
+
+    private InsuranceCalculatorServiceImpl calculator;
+    private Location parsedLocation;
+
+    @Setup
+    public void setUp() {
+        calculator = new InsuranceCalculatorServiceImpl(new PricingRuleEngine(new PricingProperties()));
+        parsedLocation = Location.from(location);
+    }
+
+    @Benchmark
+    public double boxed() {
+        return calculator.calculate(Double.valueOf(vehicleValue), location);
+    }
+
+    @Benchmark
+    public double primitive() {
+        return calculator.calculate(vehicleValue, parsedLocation);
+    }
+}
@@ -0,0 +1,72 @@
+package br.dev.ldemo.itau.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares two JMH JSON result files and exits with status 1 when any benchmark present in both got
+ * worse than the allowed percentage.
+ * <p>
+ * Usage: {@code JmhResultComparator <baseline.json> <current.json> [maxRegressionPercent]}
+ */
+public final class JmhResultComparator {
+
+    private JmhResultComparator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: JmhResultComparator <baseline.json> <current.json> [maxRegressionPercent]");
+            System.exit(2);
+        }
+        double maxRegression = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        Map<String, Result> baseline = read(new File(args[0]));
+        Map<String, Result> current = read(new File(args[1]));
+
+        int regressions = 0;
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("NEW        %s %.3f %s%n", entry.getKey(), entry.getValue().score(), entry.getValue().unit());
+                continue;
+            }
+            Result after = entry.getValue();
+            // throughput modes are better when higher, time modes when lower
+            double change = after.higherIsBetter()
+                    ? (before.score() - after.score()) / before.score() * 100
+                    : (after.score() - before.score()) / before.score() * 100;
+            boolean regressed = change > maxRegression;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-10s %s %.3f -> %.3f %s (%+.1f%% worse)%n", regressed ? "REGRESSION" : "OK",
+                    entry.getKey(), before.score(), after.score(), after.unit(), change);
+        }
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed more than %.1f%%%n", regressions, maxRegression);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Result> read(File file) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (JsonNode node : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(node.path("benchmark").asText());
+            node.path("params").fields().forEachRemaining(param ->
+                    key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            JsonNode metric = node.path("primaryMetric");
+            String mode = node.path("mode").asText();
+            results.put(key.toString(), new Result(metric.path("score").asDouble(), metric.path("scoreUnit").asText(),
+                    "thrpt".equals(mode)));
+        }
+        return results;
+    }
+
+    private record Result(double score, String unit, boolean higherIsBetter) {
+    }
+}
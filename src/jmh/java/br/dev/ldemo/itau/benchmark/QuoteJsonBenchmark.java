@@ -0,0 +1,83 @@
+package br.dev.ldemo.itau.benchmark;
+
+import br.dev.ldemo.itau.dto.CustomerOutputDto;
+import br.dev.ldemo.itau.dto.CustomerWrapper;
+import br.dev.ldemo.itau.json.QuoteJsonModule;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson (de)serialization of the quote request and response, configured as Spring Boot configures it:
+ * {@code reflection} is plain Jackson, {@code blackbird} adds generated accessors (Blackbird module) and
+ * {@code streaming} is the hand-written {@link QuoteJsonModule} the application registers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuoteJsonBenchmark {
+
+    static final byte[] REQUEST = """
+            {
+              "customer": {
+                "name": "Nome do Cliente",
+                "document": "12345678900",
+                "birthDate": "1990-01-01",
+                "location": "SP",
+                "vehicle_value": 50000.0
+              }
+            }
+            """.getBytes(StandardCharsets.UTF_8);
+
+    @Param({"reflection", "blackbird", "streaming"})
+    public String codec;
+
+    private ObjectReader requestReader;
+    private ObjectWriter responseWriter;
+    private CustomerOutputDto response;
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder();
+        switch (codec) {
+            case "blackbird" -> builder.modulesToInstall(new BlackbirdModule());
+            case "streaming" -> builder.modulesToInstall(new QuoteJsonModule());
+            default -> {
+            }
+        }
+        ObjectMapper objectMapper = builder.build();
+        requestReader = objectMapper.readerFor(CustomerWrapper.class);
+        responseWriter = objectMapper.writerFor(CustomerOutputDto.class);
+        response = new CustomerOutputDto(1L, "Nome do Cliente", "SP", 2500.0);
+    }
+
+    @Benchmark
+    public CustomerWrapper readRequest() throws IOException {
+        return requestReader.readValue(REQUEST);
+    }
+
+    @Benchmark
+    public byte[] writeResponse() throws IOException {
+        return responseWriter.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,86 @@
+package br.dev.ldemo.itau.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop load generator for {@code POST /customers/quote} against a running instance. Each client
+ * sends one request after the other; the output reports throughput and latency percentiles, so runs of
+ * the application with and without {@code spring.threads.virtual.enabled}, or the MVC and the reactive
+ * ({@code -Preactive}) variants, can be compared at the same concurrency.
+ * <p>
+ * Usage: {@code QuoteLoadTest [baseUrl] [concurrentClients] [durationSeconds]}
+ */
+public final class QuoteLoadTest {
+
+    private static final int MAX_SAMPLES = 1_000_000;
+
+    private QuoteLoadTest() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8087";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        Duration duration = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 30);
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/customers/quote"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(QuoteJsonBenchmark.REQUEST))
+                .build();
+
+        long[] latencies = new long[MAX_SAMPLES];
+        AtomicLong samples = new AtomicLong();
+        LongAdder errors = new LongAdder();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.increment();
+                            }
+                        } catch (Exception e) {
+                            errors.increment();
+                        }
+                        long sample = samples.getAndIncrement();
+                        if (sample < MAX_SAMPLES) {
+                            latencies[(int) sample] = System.nanoTime() - start;
+                        }
+                    }
+                });
+            }
+        }
+
+        int recorded = (int) Math.min(samples.get(), MAX_SAMPLES);
+        long[] sorted = Arrays.copyOf(latencies, recorded);
+        Arrays.sort(sorted);
+        System.out.printf("clients=%d duration=%ds requests=%d errors=%d throughput=%.1f req/s%n",
+                clients, duration.toSeconds(), samples.get(), errors.sum(), samples.get() / (double) duration.toSeconds());
+        System.out.printf("latency p50=%.2fms p99=%.2fms max=%.2fms%n",
+                percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 1.0));
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,30 @@
+package br.dev.ldemo.itau.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Hikari pools created outside the Spring Boot datasource auto-configuration (read replicas, shards).
+ */
+final class HikariPools {
+
+    private HikariPools() {
+    }
+
+    /**
+     * Base configuration of the pool {@code name}, whose {@code hikaricp_*} metrics are tagged {@code pool=name}
+     * like those of the primary pool.
+     */
+    static HikariConfig config(String name, String url, String username, String password, int maximumPoolSize,
+                               MeterRegistry meterRegistry) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(name);
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMaximumPoolSize(maximumPoolSize);
+        config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return config;
+    }
+}
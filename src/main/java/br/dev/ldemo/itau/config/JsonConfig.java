@@ -0,0 +1,20 @@
+package br.dev.ldemo.itau.config;
+
+import br.dev.ldemo.itau.json.QuoteJsonModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the streaming codec of the quote DTOs in Spring Boot's {@code ObjectMapper}
+ * ({@code app.json.fast-codec.enabled}, on by default).
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.json.fast-codec", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class JsonConfig {
+
+    @Bean
+    public QuoteJsonModule quoteJsonModule() {
+        return new QuoteJsonModule();
+    }
+}
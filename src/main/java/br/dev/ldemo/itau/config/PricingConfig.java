@@ -0,0 +1,10 @@
+package br.dev.ldemo.itau.config;
+
+import br.dev.ldemo.itau.service.pricing.PricingProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(PricingProperties.class)
+public class PricingConfig {
+}
@@ -0,0 +1,10 @@
+package br.dev.ldemo.itau.config;
+
+import br.dev.ldemo.itau.ratelimit.RateLimitProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+}
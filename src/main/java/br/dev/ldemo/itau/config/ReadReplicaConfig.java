@@ -0,0 +1,70 @@
+package br.dev.ldemo.itau.config;
+
+import br.dev.ldemo.itau.datasource.ReadReplicaRoutingDataSource;
+import br.dev.ldemo.itau.datasource.ReplicaDataSourceProperties;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the single auto-configured pool with the primary ({@code spring.datasource}) plus the read replicas
+ * of {@code app.datasource.replicas}. Only active when replicas are enabled.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replicas", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(ReadReplicaRoutingDataSource.PRIMARY);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadReplicaRoutingDataSource routingDataSource(HikariDataSource primaryDataSource,
+                                                          ReplicaDataSourceProperties properties,
+                                                          MeterRegistry meterRegistry) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<ReplicaDataSourceProperties.Pool> pools = properties.getPools();
+        for (int i = 0; i < pools.size(); i++) {
+            String name = "replica-" + i;
+            replicas.put(name, replicaDataSource(name, pools.get(i), primaryDataSource, meterRegistry));
+        }
+        return new ReadReplicaRoutingDataSource(primaryDataSource, replicas, properties.getHealthCheckInterval(),
+                properties.getValidationTimeout(), meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    private static HikariDataSource replicaDataSource(String name, ReplicaDataSourceProperties.Pool pool,
+                                                      HikariDataSource primary, MeterRegistry meterRegistry) {
+        HikariConfig config = HikariPools.config(name, pool.getUrl(), pool.getUsername(), pool.getPassword(),
+                pool.getMaximumPoolSize(), meterRegistry);
+        config.setDriverClassName(primary.getDriverClassName());
+        config.setConnectionTimeout(primary.getConnectionTimeout());
+        config.setReadOnly(true);
+        // an unreachable replica must not stop the application: it starts unhealthy and gets no reads
+        config.setInitializationFailTimeout(-1);
+        return new HikariDataSource(config);
+    }
+}
@@ -0,0 +1,45 @@
+package br.dev.ldemo.itau.config;
+
+import br.dev.ldemo.itau.sharding.ShardedCustomerStore;
+import br.dev.ldemo.itau.sharding.ShardingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shard pools of {@code app.sharding.shards}. They are separate from the JPA datasource: only the sharded
+ * endpoints use them. Only active when sharding is enabled.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    @Bean
+    public ShardedCustomerStore shardedCustomerStore(ShardingProperties properties, MeterRegistry meterRegistry) {
+        ResourceDatabasePopulator schema = new ResourceDatabasePopulator(new ClassPathResource("db/sharding/schema.sql"));
+        List<DataSource> shards = new ArrayList<>();
+        for (int i = 0; i < properties.getShards().size(); i++) {
+            DataSource shard = shardDataSource("shard-" + i, properties.getShards().get(i), meterRegistry);
+            DatabasePopulatorUtils.execute(schema, shard);
+            shards.add(shard);
+        }
+        return new ShardedCustomerStore(shards, properties.getWorkerId());
+    }
+
+    private static HikariDataSource shardDataSource(String name, ShardingProperties.Shard shard,
+                                                    MeterRegistry meterRegistry) {
+        return new HikariDataSource(HikariPools.config(name, shard.getUrl(), shard.getUsername(), shard.getPassword(),
+                shard.getMaximumPoolSize(), meterRegistry));
+    }
+}
@@ -1,20 +1,48 @@
 package br.dev.ldemo.itau.controller;
 
+import br.dev.ldemo.itau.dto.BulkProgressDto;
 import br.dev.ldemo.itau.dto.CustomerInputDto;
 import br.dev.ldemo.itau.dto.CustomerOutputDto;
+import br.dev.ldemo.itau.dto.CustomerPatchDto;
+import br.dev.ldemo.itau.dto.CustomerSearchCriteria;
 import br.dev.ldemo.itau.dto.CustomerWrapper;
+import br.dev.ldemo.itau.dto.QuoteBatchItemDto;
+import br.dev.ldemo.itau.dto.QuoteExportRange;
+import br.dev.ldemo.itau.dto.QuoteImportSummaryDto;
+import br.dev.ldemo.itau.dto.QuoteFilter;
+import br.dev.ldemo.itau.logging.LogMarkers;
+import br.dev.ldemo.itau.service.CustomerBulkServiceImpl;
+import br.dev.ldemo.itau.service.CustomerImportServiceImpl;
 import br.dev.ldemo.itau.service.CustomerServiceImpl;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 @Tag(name = "Customer Service")
 @Slf4j
@@ -22,28 +50,158 @@ import java.util.List;
 @RequestMapping("/customers")
 public class CustomerController {
 
+    public static final String NEXT_AFTER_HEADER = "X-Next-After";
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private static final byte[] NEW_LINE = {'\n'};
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
     private final CustomerServiceImpl service;
+    private final CustomerBulkServiceImpl bulkService;
+    private final CustomerImportServiceImpl importService;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader csvReader;
 
-    public CustomerController(CustomerServiceImpl service) {
+    public CustomerController(CustomerServiceImpl service, CustomerBulkServiceImpl bulkService,
+                              CustomerImportServiceImpl importService, ObjectMapper objectMapper) {
         this.service = service;
+        this.bulkService = bulkService;
+        this.importService = importService;
+        this.objectMapper = objectMapper;
+        this.csvReader = CsvMapper.builder().findAndAddModules().build()
+                .readerFor(CustomerInputDto.class)
+                .with(CsvSchema.emptySchema().withHeader());
     }
 
     @Operation(summary = "Calculates insurance for a given vehicle and location")
     @ApiResponse(responseCode = "200", description = "Insurance calculation successful")
     @ApiResponse(responseCode = "400", description = "Invalid vehicle value or location")
+    @ApiResponse(responseCode = "422", description = "Idempotency key already used with a different request body")
     @PostMapping("/quote")
-    public ResponseEntity<CustomerOutputDto> insuranceQuote(@RequestBody @Valid CustomerWrapper customerWrapper){
-        log.info("Calculating insurance for customer {}", customerWrapper.getCustomer());
-        return ResponseEntity.ok(service.calculateInsurance(customerWrapper));
+    public ResponseEntity<CustomerOutputDto> insuranceQuote(
+            @RequestBody @Valid CustomerWrapper customerWrapper,
+            @Parameter(description = "Retries with the same key and body return the stored quote instead of creating a new one")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey){
+        log.info(LogMarkers.HOT_PATH, "Calculating insurance for customer {}", customerWrapper.getCustomer());
+        return ResponseEntity.ok(service.calculateInsurance(customerWrapper, idempotencyKey));
+    }
+
+    @Operation(summary = "Calculates insurance for a batch of customers sent as a JSON array or NDJSON")
+    @ApiResponse(responseCode = "200", description = "Batch processed, one NDJSON line with the quote or the error of each item")
+    @PostMapping(value = "/quotes:batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> insuranceQuoteBatch(HttpServletRequest request) throws IOException {
+        log.info("Calculating insurance batch");
+        MappingIterator<CustomerInputDto> inputs = objectMapper.readerFor(CustomerInputDto.class)
+                .readValues(request.getInputStream());
+        StreamingResponseBody body = out -> {
+            try (inputs) {
+                service.calculateInsuranceBatch(inputs, result -> writeLine(out, result));
+            }
+            out.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
-    @Operation(summary = "Returns all insurance quotes")
-    @ApiResponse(responseCode = "200", description = "Insurance quotes retrieved successfully")
-    @ApiResponse(responseCode = "404", description = "No insurance quotes found")
+    @Operation(summary = "Imports customers from a CSV (with header), NDJSON or JSON array file")
+    @ApiResponse(responseCode = "200", description = "One NDJSON line per rejected row, followed by a summary line "
+            + "with the imported and rejected counts and the throughput in rows per second")
+    @PostMapping(value = "/quotes:import",
+            consumes = {TEXT_CSV_VALUE, MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importQuotes(HttpServletRequest request) throws IOException {
+        boolean csv = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.parseMediaType(TEXT_CSV_VALUE));
+        log.info("Importing customers from {}", csv ? "CSV" : "JSON");
+        ObjectReader reader = csv ? csvReader : objectMapper.readerFor(CustomerInputDto.class);
+        MappingIterator<CustomerInputDto> inputs = reader.readValues(request.getInputStream());
+        StreamingResponseBody body = out -> {
+            try (inputs) {
+                QuoteImportSummaryDto summary = importService.importQuotes(inputs, rejection -> writeLine(out, rejection));
+                writeLine(out, summary);
+            }
+            out.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @Operation(summary = "Returns a page of insurance quotes with id greater than 'after'")
+    @ApiResponse(responseCode = "200", description = "Insurance quotes retrieved successfully. "
+            + "When more quotes exist, the " + NEXT_AFTER_HEADER + " header holds the 'after' of the next page")
     @GetMapping("/quotes")
-    public ResponseEntity<List<CustomerOutputDto>> insuranceQuotes(){
-        log.info("Retrieving all insurance quotes");
-        return ResponseEntity.ok(service.getAllInsurance());
+    public ResponseEntity<List<CustomerOutputDto>> insuranceQuotes(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "100") int limit){
+        log.info("Retrieving insurance quotes after {} limited to {}", after, limit);
+        return pageResponse(service.getInsurancePage(after, limit), limit);
+    }
+
+    @Operation(summary = "Searches insurance quotes by document, location and birth date range, a page at a time")
+    @ApiResponse(responseCode = "200", description = "Matching insurance quotes. "
+            + "When more quotes exist, the " + NEXT_AFTER_HEADER + " header holds the 'after' of the next page")
+    @GetMapping("/quotes/search")
+    public ResponseEntity<List<CustomerOutputDto>> searchInsuranceQuotes(
+            @RequestParam(required = false) String document,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate birthDateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate birthDateTo,
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "100") int limit){
+        CustomerSearchCriteria criteria = new CustomerSearchCriteria(document, location, birthDateFrom, birthDateTo);
+        log.info("Searching insurance quotes by {} after {} limited to {}", criteria, after, limit);
+        return pageResponse(service.searchInsurance(criteria, after, limit), limit);
+    }
+
+    @Operation(summary = "Returns all insurance quotes as a JSON array written incrementally")
+    @ApiResponse(responseCode = "200", description = "Insurance quotes streamed successfully")
+    @GetMapping(value = "/quotes/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> insuranceQuotesStream(){
+        log.info("Streaming all insurance quotes");
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+                generator.writeStartArray();
+                service.streamAllInsurance(quote -> writeValue(generator, quote));
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    @Operation(summary = "Exports insurance quotes as NDJSON or CSV, streamed from a database cursor")
+    @ApiResponse(responseCode = "200", description = "Quotes in id order. To resume an interrupted export, "
+            + "repeat the request with 'after' set to the last id received")
+    @ApiResponse(responseCode = "400", description = "Unsupported format")
+    @GetMapping("/quotes/export")
+    public ResponseEntity<StreamingResponseBody> exportQuotes(
+            @Parameter(description = "ndjson or csv")
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "0") long after,
+            @Parameter(description = "Last id to export (inclusive)")
+            @RequestParam(required = false) Long to,
+            @RequestParam(required = false) Instant calculatedFrom,
+            @RequestParam(required = false) Instant calculatedBefore,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding){
+        String exportFormat = QuoteExportWriter.normalizeFormat(format);
+        QuoteExportRange range = new QuoteExportRange(after, to, calculatedFrom, calculatedBefore);
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        log.info("Exporting insurance quotes as {} (gzip {}) for {}", exportFormat, gzip, range);
+
+        StreamingResponseBody body = out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, EXPORT_BUFFER_SIZE) : out;
+            try (QuoteExportWriter writer = QuoteExportWriter.of(exportFormat, target, objectMapper)) {
+                service.exportQuotes(range, writer::write);
+            }
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(exportFormat.equals("csv")
+                        ? new MediaType(MediaType.parseMediaType(TEXT_CSV_VALUE), StandardCharsets.UTF_8)
+                        : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
     }
 
     @Operation(summary = "Returns an insurance quote by id")
@@ -51,7 +209,7 @@ public class CustomerController {
     @ApiResponse(responseCode = "404", description = "Insurance quote not found")
     @GetMapping("/quote/{id}")
     public ResponseEntity<CustomerOutputDto> getCustomerById(@Parameter @PathVariable final Long id){
-        log.info("Retrieving insurance quote with id {}", id);
+        log.info(LogMarkers.HOT_PATH, "Retrieving insurance quote with id {}", id);
         return ResponseEntity.ok(service.getCustomerById(id));
     }
 
@@ -69,10 +227,91 @@ public class CustomerController {
         return ResponseEntity.ok(service.update(id, dto));
     }
 
+    @Operation(summary = "Changes some fields of an insurance quote by id")
+    @ApiResponse(responseCode = "204", description = "Insurance quote updated successfully")
+    @ApiResponse(responseCode = "404", description = "Insurance quote not found")
+    @ApiResponse(responseCode = "400", description = "Invalid vehicle value or location")
+    @ApiResponse(responseCode = "409", description = "Insurance quote kept changing concurrently, try again")
+    @PatchMapping("/quote/{id}")
+    public ResponseEntity<Void> patch(
+            @PathVariable @NotNull Long id,
+            @RequestBody @Valid CustomerPatchDto dto
+    ){
+        log.info("Patching insurance quote with id {}", id);
+        service.patch(id, dto);
+        return ResponseEntity.noContent().build();
+    }
+
     @DeleteMapping("/quotes/{id}")
     public void delete(@PathVariable @NotNull Long id){
         log.info("Deleting insurance quote with id {}", id);
         service.delete(id);
         log.info("Insurance quote deleted with id {}", id);
     }
-}
+
+    @Operation(summary = "Deletes the insurance quotes with the given ids and/or matching the filter, in chunks")
+    @ApiResponse(responseCode = "200", description = "One NDJSON progress line per chunk; the last one has done=true")
+    @ApiResponse(responseCode = "400", description = "Neither ids nor a filter were given")
+    @DeleteMapping(value = "/quotes", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> deleteQuotes(
+            @RequestParam(required = false) List<Long> ids,
+            @RequestParam(required = false) String location,
+            @Parameter(description = "Only quotes calculated before this instant (ISO-8601)")
+            @RequestParam(required = false) Instant calculatedBefore){
+        QuoteFilter filter = new QuoteFilter(location, calculatedBefore);
+        if (ids == null && filter.isEmpty()) {
+            throw new IllegalArgumentException("Bulk delete requires ids or a filter");
+        }
+        log.info("Deleting insurance quotes by ids {} and filter {}", ids, filter);
+        StreamingResponseBody body = out -> bulkService.delete(ids, filter, progress -> writeProgress(out, progress));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @Operation(summary = "Recalculates the insurance quotes matching the filter with the current pricing rules, in chunks")
+    @ApiResponse(responseCode = "200", description = "One NDJSON progress line per chunk; the last one has done=true")
+    @PostMapping(value = "/quotes:reprice", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> repriceQuotes(
+            @RequestParam(required = false) String location,
+            @Parameter(description = "Only quotes calculated before this instant (ISO-8601)")
+            @RequestParam(required = false) Instant calculatedBefore){
+        QuoteFilter filter = new QuoteFilter(location, calculatedBefore);
+        log.info("Repricing insurance quotes by filter {}", filter);
+        StreamingResponseBody body = out -> bulkService.reprice(filter, progress -> writeProgress(out, progress));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    private ResponseEntity<List<CustomerOutputDto>> pageResponse(List<CustomerOutputDto> quotes, int limit) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!quotes.isEmpty() && quotes.size() >= Math.min(limit, CustomerServiceImpl.MAX_PAGE_SIZE)) {
+            response.header(NEXT_AFTER_HEADER, String.valueOf(quotes.getLast().id()));
+        }
+        return response.body(quotes);
+    }
+
+    private void writeProgress(OutputStream out, BulkProgressDto progress) {
+        writeLine(out, progress);
+        try {
+            // one line per chunk, so the client sees progress while the operation runs
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeLine(OutputStream out, Object result) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(result));
+            out.write(NEW_LINE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeValue(JsonGenerator generator, Object value) {
+        try {
+            generator.writePOJO(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
\ No newline at end of file
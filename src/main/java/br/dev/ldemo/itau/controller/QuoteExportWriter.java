@@ -0,0 +1,125 @@
+package br.dev.ldemo.itau.controller;
+
+import br.dev.ldemo.itau.dto.QuoteExportRow;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Writes exported quotes one row at a time, so memory stays constant regardless of the number of rows.
+ */
+abstract class QuoteExportWriter implements AutoCloseable {
+
+    static QuoteExportWriter of(String format, OutputStream out, ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case "ndjson" -> new Ndjson(objectMapper.createGenerator(out));
+            case "csv" -> new Csv(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+            default -> throw new IllegalArgumentException("Unsupported export format " + format);
+        };
+    }
+
+    static String normalizeFormat(String format) {
+        String normalized = format.toLowerCase(Locale.ROOT);
+        if (!normalized.equals("ndjson") && !normalized.equals("csv")) {
+            throw new IllegalArgumentException("Unsupported export format " + format);
+        }
+        return normalized;
+    }
+
+    final void write(QuoteExportRow row) {
+        try {
+            writeRow(row);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    abstract void writeRow(QuoteExportRow row) throws IOException;
+
+    @Override
+    public abstract void close() throws IOException;
+
+    private static final class Ndjson extends QuoteExportWriter {
+
+        private final JsonGenerator generator;
+
+        private Ndjson(JsonGenerator generator) {
+            // rows are separated by the newline alone, not by the default space before each root value
+            this.generator = generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        void writeRow(QuoteExportRow row) throws IOException {
+            generator.writePOJO(row);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+
+    private static final class Csv extends QuoteExportWriter {
+
+        private final Writer writer;
+
+        private Csv(Writer writer) throws IOException {
+            this.writer = writer;
+            writer.write("id,name,location,vehicle_value,premium,rate,calculated_at\n");
+        }
+
+        @Override
+        void writeRow(QuoteExportRow row) throws IOException {
+            writer.write(String.valueOf(row.id()));
+            writer.write(',');
+            writeText(row.name());
+            writer.write(',');
+            writeText(row.location());
+            writer.write(',');
+            writeNullable(row.vehicle_value());
+            writer.write(',');
+            writeNullable(row.premium());
+            writer.write(',');
+            writeNullable(row.rate());
+            writer.write(',');
+            writeNullable(row.calculatedAt());
+            writer.write('\n');
+        }
+
+        private void writeNullable(Object value) throws IOException {
+            if (value != null) {
+                writer.write(value.toString());
+            }
+        }
+
+        /**
+         * RFC 4180 quoting: fields with separators, quotes or line breaks are quoted and quotes doubled.
+         */
+        private void writeText(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package br.dev.ldemo.itau.controller;
+
+import br.dev.ldemo.itau.dto.CustomerOutputDto;
+import br.dev.ldemo.itau.dto.CustomerWrapper;
+import br.dev.ldemo.itau.logging.LogMarkers;
+import br.dev.ldemo.itau.service.CustomerServiceImpl;
+import br.dev.ldemo.itau.service.ShardedCustomerServiceImpl;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Tag(name = "Sharded Customer Service")
+@Slf4j
+@RestController
+@RequestMapping("/customers/sharded")
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+public class ShardedCustomerController {
+
+    private final ShardedCustomerServiceImpl service;
+
+    public ShardedCustomerController(ShardedCustomerServiceImpl service) {
+        this.service = service;
+    }
+
+    @Operation(summary = "Calculates insurance and stores the quote in the shard of the customer document")
+    @ApiResponse(responseCode = "200", description = "Insurance calculation successful")
+    @ApiResponse(responseCode = "400", description = "Invalid vehicle value or location")
+    @PostMapping("/quote")
+    public ResponseEntity<CustomerOutputDto> insuranceQuote(@RequestBody @Valid CustomerWrapper customerWrapper) {
+        log.info(LogMarkers.HOT_PATH, "Calculating sharded insurance for customer {}", customerWrapper.getCustomer());
+        return ResponseEntity.ok(service.calculateInsurance(customerWrapper));
+    }
+
+    @Operation(summary = "Returns an insurance quote by id, read from the shard encoded in the id")
+    @ApiResponse(responseCode = "200", description = "Insurance quote retrieved successfully")
+    @ApiResponse(responseCode = "404", description = "Insurance quote not found")
+    @GetMapping("/quote/{id}")
+    public ResponseEntity<CustomerOutputDto> getCustomerById(@Parameter @PathVariable final Long id) {
+        log.info(LogMarkers.HOT_PATH, "Retrieving sharded insurance quote with id {}", id);
+        return ResponseEntity.ok(service.getCustomerById(id));
+    }
+
+    @Operation(summary = "Returns a page of insurance quotes with id greater than 'after', merged from all shards")
+    @ApiResponse(responseCode = "200", description = "Insurance quotes retrieved successfully. When more quotes "
+            + "exist, the " + CustomerController.NEXT_AFTER_HEADER + " header holds the 'after' of the next page")
+    @GetMapping("/quotes")
+    public ResponseEntity<List<CustomerOutputDto>> insuranceQuotes(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "100") int limit) {
+        log.info("Retrieving sharded insurance quotes after {} limited to {}", after, limit);
+        List<CustomerOutputDto> quotes = service.getInsurancePage(after, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!quotes.isEmpty() && quotes.size() >= Math.min(limit, CustomerServiceImpl.MAX_PAGE_SIZE)) {
+            response.header(CustomerController.NEXT_AFTER_HEADER, String.valueOf(quotes.getLast().id()));
+        }
+        return response.body(quotes);
+    }
+}
@@ -0,0 +1,178 @@
+package br.dev.ldemo.itau.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections of read-only transactions to the healthy replicas (round robin) and everything else to
+ * the primary. When no replica is healthy, or the chosen one fails to connect, the read goes to the primary.
+ * <p>
+ * The read-only flag is only known once the transaction has started, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which defers fetching the
+ * connection until the first statement.
+ */
+@Slf4j
+public class ReadReplicaRoutingDataSource extends AbstractDataSource implements InitializingBean, DisposableBean {
+
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final Duration healthCheckInterval;
+    private final int validationTimeoutSeconds;
+    private final Counter primaryRouted;
+    private final Counter fallbacks;
+
+    private ScheduledExecutorService healthChecker;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                        Duration healthCheckInterval, Duration validationTimeout,
+                                        MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.healthCheckInterval = healthCheckInterval;
+        this.validationTimeoutSeconds = (int) Math.max(1, validationTimeout.toSeconds());
+        this.primaryRouted = routedCounter(meterRegistry, PRIMARY);
+        this.fallbacks = Counter.builder("datasource.replica.fallback")
+                .description("Read-only connections sent to the primary because no replica was available")
+                .register(meterRegistry);
+        replicas.forEach((name, dataSource) -> {
+            Replica replica = new Replica(name, dataSource, routedCounter(meterRegistry, name));
+            Gauge.builder("datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .description("Whether the replica receives reads")
+                    .tag("pool", name)
+                    .register(meterRegistry);
+            this.replicas.add(replica);
+        });
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = healthCheckInterval.toMillis();
+        healthChecker.scheduleWithFixedDelay(this::checkReplicas, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+        // the replica pools are not beans, so they are closed here; the primary is closed by the container
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            primaryRouted.increment();
+            return primary.getConnection();
+        }
+        Replica replica = nextHealthyReplica();
+        if (replica != null) {
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replica.routed.increment();
+                return connection;
+            } catch (SQLException e) {
+                markDown(replica, e);
+            }
+        }
+        fallbacks.increment();
+        primaryRouted.increment();
+        return primary.getConnection();
+    }
+
+    /**
+     * Connections with explicit credentials always come from the primary: the replicas have their own.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        primaryRouted.increment();
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * Validates every replica once. Runs on the health-check thread.
+     */
+    void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (!connection.isValid(validationTimeoutSeconds)) {
+                    markDown(replica, null);
+                } else if (!replica.healthy) {
+                    replica.healthy = true;
+                    log.info("Replica {} is healthy again", replica.name);
+                }
+            } catch (SQLException e) {
+                markDown(replica, e);
+            }
+        }
+    }
+
+    private Replica nextHealthyReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private void markDown(Replica replica, SQLException cause) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            log.warn("Replica {} is unavailable, reads go to the other replicas or the primary", replica.name, cause);
+        }
+    }
+
+    private static Counter routedCounter(MeterRegistry meterRegistry, String pool) {
+        return Counter.builder("datasource.routed")
+                .description("Connections handed out by pool")
+                .tag("pool", pool)
+                .register(meterRegistry);
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final Counter routed;
+        private volatile boolean healthy = true;
+
+        private Replica(String name, DataSource dataSource, Counter routed) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.routed = routed;
+        }
+    }
+}
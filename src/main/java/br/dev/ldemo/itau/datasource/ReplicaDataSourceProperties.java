@@ -0,0 +1,41 @@
+package br.dev.ldemo.itau.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas used by read-only transactions, configured under {@code app.datasource.replicas}.
+ * The primary is still configured by {@code spring.datasource}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.datasource.replicas")
+public class ReplicaDataSourceProperties {
+
+    private boolean enabled = false;
+
+    /** How often each replica is validated; replicas failing validation get no reads until they pass again. */
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    private Duration validationTimeout = Duration.ofSeconds(1);
+
+    private List<Pool> pools = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Pool {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,13 @@
+package br.dev.ldemo.itau.dto;
+
+/**
+ * Progress of a bulk operation, published after each chunk. {@code processed} counts the quotes examined,
+ * {@code affected} the rows changed, and {@code lastId} is the last id examined (resume point).
+ */
+public record BulkProgressDto(
+        long processed,
+        long affected,
+        Long lastId,
+        boolean done
+) {
+}
@@ -1,11 +1,16 @@
 package br.dev.ldemo.itau.dto;
 
 import br.dev.ldemo.itau.entity.Customer;
+import br.dev.ldemo.itau.logging.PiiMasking;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
+import java.util.HexFormat;
 
 public record CustomerInputDto(
         @NotBlank
@@ -20,6 +25,30 @@ public record CustomerInputDto(
         @PositiveOrZero
         double vehicle_value
 ) {
+    /**
+     * Masks the personal data; only runs when a log line containing the dto is written.
+     */
+    @Override
+    public String toString() {
+        return "CustomerInputDto[name=" + PiiMasking.maskName(name)
+                + ", document=" + PiiMasking.mask(document)
+                + ", birthDate=" + (birthDate == null ? null : "****-**-**")
+                + ", location=" + location
+                + ", vehicle_value=" + vehicle_value + "]";
+    }
+
+    /**
+     * SHA-256 (hex) of the fields, stored with an idempotency key to tell a retry from a different request.
+     */
+    public String requestHash() {
+        String fields = name + '\u0000' + document + '\u0000' + birthDate + '\u0000' + location + '\u0000' + vehicle_value;
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(fields.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
     public Customer toEntity() {
         return Customer.builder()
                 .name(name)
@@ -0,0 +1,36 @@
+package br.dev.ldemo.itau.dto;
+
+import br.dev.ldemo.itau.entity.Customer;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import java.time.LocalDate;
+
+/**
+ * Partial update of a quote: null fields keep their stored value.
+ */
+public record CustomerPatchDto(
+        @Pattern(regexp = ".*\\S.*", message = "must not be blank")
+        String name,
+        @Pattern(regexp = ".*\\S.*", message = "must not be blank")
+        String document,
+        LocalDate birthDate,
+        @Pattern(regexp = ".*\\S.*", message = "must not be blank")
+        String location,
+        @PositiveOrZero
+        Double vehicle_value
+) {
+    public boolean changesPricing() {
+        return location != null || vehicle_value != null;
+    }
+
+    public Customer toEntity() {
+        return Customer.builder()
+                .name(name)
+                .document(document)
+                .birthDate(birthDate)
+                .location(location)
+                .vehicle_value(vehicle_value)
+                .build();
+    }
+}
@@ -0,0 +1,24 @@
+package br.dev.ldemo.itau.dto;
+
+import br.dev.ldemo.itau.logging.PiiMasking;
+
+import java.time.LocalDate;
+
+/**
+ * Quote search criteria; null criteria are ignored and the birth date range is inclusive.
+ */
+public record CustomerSearchCriteria(
+        String document,
+        String location,
+        LocalDate birthDateFrom,
+        LocalDate birthDateTo
+) {
+
+    @Override
+    public String toString() {
+        return "CustomerSearchCriteria[document=" + PiiMasking.mask(document)
+                + ", location=" + location
+                + ", birthDateFrom=" + birthDateFrom
+                + ", birthDateTo=" + birthDateTo + "]";
+    }
+}
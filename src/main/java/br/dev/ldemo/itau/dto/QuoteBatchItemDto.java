@@ -0,0 +1,23 @@
+package br.dev.ldemo.itau.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Result of one item of a batch quote: either the calculated quote or the error
+ * that prevented it. {@code index} is the zero-based position of the item in the request.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record QuoteBatchItemDto(
+        long index,
+        CustomerOutputDto quote,
+        String error
+) {
+
+    public static QuoteBatchItemDto success(long index, CustomerOutputDto quote) {
+        return new QuoteBatchItemDto(index, quote, null);
+    }
+
+    public static QuoteBatchItemDto failure(long index, String error) {
+        return new QuoteBatchItemDto(index, null, error);
+    }
+}
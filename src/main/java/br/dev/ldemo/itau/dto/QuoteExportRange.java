@@ -0,0 +1,15 @@
+package br.dev.ldemo.itau.dto;
+
+import java.time.Instant;
+
+/**
+ * Quotes to export: ids in ({@code after}, {@code to}] calculated in [{@code calculatedFrom},
+ * {@code calculatedBefore}). Null bounds are open.
+ */
+public record QuoteExportRange(
+        long after,
+        Long to,
+        Instant calculatedFrom,
+        Instant calculatedBefore
+) {
+}
@@ -0,0 +1,17 @@
+package br.dev.ldemo.itau.dto;
+
+import java.time.Instant;
+
+/**
+ * One exported quote. Personal data (document, birth date) is not exported.
+ */
+public record QuoteExportRow(
+        Long id,
+        String name,
+        String location,
+        Double vehicle_value,
+        Double premium,
+        Double rate,
+        Instant calculatedAt
+) {
+}
@@ -0,0 +1,17 @@
+package br.dev.ldemo.itau.dto;
+
+import java.time.Instant;
+
+/**
+ * Selects quotes for bulk operations; null criteria match every quote. Quotes never priced (no
+ * calculation time) match any {@code calculatedBefore}.
+ */
+public record QuoteFilter(
+        String location,
+        Instant calculatedBefore
+) {
+
+    public boolean isEmpty() {
+        return location == null && calculatedBefore == null;
+    }
+}
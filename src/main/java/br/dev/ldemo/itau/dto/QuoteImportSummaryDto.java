@@ -0,0 +1,13 @@
+package br.dev.ldemo.itau.dto;
+
+/**
+ * Outcome of an import: rows read, imported and rejected, and the throughput achieved.
+ */
+public record QuoteImportSummaryDto(
+        long rows,
+        long imported,
+        long rejected,
+        long elapsedMillis,
+        double rowsPerSecond
+) {
+}
@@ -1,15 +1,29 @@
 package br.dev.ldemo.itau.entity;
 
 import br.dev.ldemo.itau.dto.CustomerOutputDto;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 import lombok.*;
 
+import java.time.Instant;
 import java.time.LocalDate;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_customer_premium", columnList = "premium"),
+        // id is the second column so searches can walk the index in keyset (id) order
+        @Index(name = "idx_customer_document", columnList = "document, id"),
+        @Index(name = "idx_customer_location", columnList = "location, id"),
+        @Index(name = "idx_customer_birth_date", columnList = "birthDate"),
+        @Index(name = "idx_customer_calculated_at", columnList = "calculatedAt"),
+        @Index(name = "uk_customer_idempotency_key", columnList = "idempotencyKey", unique = true)
+})
 @Builder
 @Getter
 @Setter
@@ -17,17 +31,40 @@ import java.time.LocalDate;
 @AllArgsConstructor
 public class Customer {
 
+    /**
+     * Ids reserved per sequence round trip. Pooled ids (unlike IDENTITY) let Hibernate batch inserts.
+     * On databases without sequences (MySQL) Hibernate emulates {@code customer_seq} with a table.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    public static final int IDEMPOTENCY_KEY_LENGTH = 100;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customer_seq")
+    @SequenceGenerator(name = "customer_seq", sequenceName = "customer_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     private String name;
     private String document;
     private LocalDate birthDate;
     private String location;
     private Double vehicle_value;
+    /** Insurance value calculated for {@code vehicle_value}. */
+    private Double premium;
+    /** Rate applied over {@code vehicle_value} to obtain {@code premium}. */
+    private Double rate;
+    private Instant calculatedAt;
+    /** Client supplied key of the quote request; repeated requests with it return this quote. */
+    @Column(length = IDEMPOTENCY_KEY_LENGTH)
+    private String idempotencyKey;
+    /** {@link br.dev.ldemo.itau.dto.CustomerInputDto#requestHash()} of the request sent with {@code idempotencyKey}. */
+    @Column(length = 64)
+    private String requestHash;
 
-    public CustomerOutputDto toOutputDto(Customer customer){
-        return new CustomerOutputDto(id, name, location, vehicle_value);
+    /**
+     * Quotes saved before the premium was persisted have no premium and are reported as zero.
+     */
+    public CustomerOutputDto toOutputDto(){
+        return new CustomerOutputDto(id, name, location, premium == null ? 0.0 : premium);
     }
 
 }
@@ -0,0 +1,7 @@
+package br.dev.ldemo.itau.exception;
+
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
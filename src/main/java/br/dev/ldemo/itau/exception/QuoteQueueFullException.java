@@ -0,0 +1,7 @@
+package br.dev.ldemo.itau.exception;
+
+public class QuoteQueueFullException extends RuntimeException {
+    public QuoteQueueFullException(String message) {
+        super(message);
+    }
+}
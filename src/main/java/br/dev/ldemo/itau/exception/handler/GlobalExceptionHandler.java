@@ -1,18 +1,32 @@
 package br.dev.ldemo.itau.exception.handler;
 
 import br.dev.ldemo.itau.exception.ApiErrorResponse;
+import br.dev.ldemo.itau.exception.IdempotencyKeyReusedException;
+import br.dev.ldemo.itau.exception.QuoteQueueFullException;
 import br.dev.ldemo.itau.exception.ResourceNotFoundException;
+import br.dev.ldemo.itau.service.QuoteMetrics;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import java.util.stream.Collectors;
+
 @Slf4j
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final QuoteMetrics quoteMetrics;
+
+    public GlobalExceptionHandler(QuoteMetrics quoteMetrics) {
+        this.quoteMetrics = quoteMetrics;
+    }
+
     /**
      * Trata exceções de recurso não encontrado.
      *
@@ -23,21 +37,119 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ApiErrorResponse> handleResourceNotFound(
             final ResourceNotFoundException ex, final HttpServletRequest request) {
+        quoteMetrics.notFound();
         return buildErrorResponse(ex, HttpStatus.NOT_FOUND, ex.getMessage(), request);
     }
 
-    private ResponseEntity<ApiErrorResponse> buildErrorResponse(
+    /**
+     * Trata argumentos inválidos (valor do veículo, localização, chave de idempotência).
+     *
+     * @param ex Exceção lançada
+     * @param request Requisição HTTP
+     * @return Resposta de erro
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ApiErrorResponse> handleIllegalArgument(
+            final IllegalArgumentException ex, final HttpServletRequest request) {
+        quoteMetrics.validationFailed();
+        return buildErrorResponse(ex, HttpStatus.BAD_REQUEST, ex.getMessage(), request);
+    }
+
+    /**
+     * Trata corpos de requisição que não passam na validação ({@code @Valid}).
+     *
+     * @param ex Exceção lançada
+     * @param request Requisição HTTP
+     * @return Resposta de erro
+     */
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<ApiErrorResponse> handleMethodArgumentNotValid(
+            final MethodArgumentNotValidException ex, final HttpServletRequest request) {
+        quoteMetrics.validationFailed();
+        return buildErrorResponse(ex, HttpStatus.BAD_REQUEST, fieldErrorsMessage(ex.getBindingResult()), request);
+    }
+
+    /**
+     * Trata chaves de idempotência reutilizadas com um corpo de requisição diferente.
+     *
+     * @param ex Exceção lançada
+     * @param request Requisição HTTP
+     * @return Resposta de erro
+     */
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<ApiErrorResponse> handleIdempotencyKeyReused(
+            final IdempotencyKeyReusedException ex, final HttpServletRequest request) {
+        return buildErrorResponse(ex, HttpStatus.UNPROCESSABLE_ENTITY, ex.getMessage(), request);
+    }
+
+    /**
+     * Trata cotações alteradas por outra requisição durante a atualização; o cliente deve tentar novamente.
+     *
+     * @param ex Exceção lançada
+     * @param request Requisição HTTP
+     * @return Resposta de erro
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiErrorResponse> handleOptimisticLockingFailure(
+            final OptimisticLockingFailureException ex, final HttpServletRequest request) {
+        return buildErrorResponse(ex, HttpStatus.CONFLICT, ex.getMessage(), request);
+    }
+
+    /**
+     * Trata a fila de gravação assíncrona cheia; o cliente deve tentar novamente.
+     *
+     * @param ex Exceção lançada
+     * @param request Requisição HTTP
+     * @return Resposta de erro
+     */
+    @ExceptionHandler(QuoteQueueFullException.class)
+    public ResponseEntity<ApiErrorResponse> handleQuoteQueueFull(
+            final QuoteQueueFullException ex, final HttpServletRequest request) {
+        return buildErrorResponse(ex, HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), request);
+    }
+
+    /**
+     * Junta os erros de campo em uma única mensagem, em ordem alfabética ("campo mensagem, ...").
+     *
+     * @param bindingResult Resultado da validação
+     * @return Mensagem de erro
+     */
+    public static String fieldErrorsMessage(final BindingResult bindingResult) {
+        return bindingResult.getFieldErrors().stream()
+                .map(error -> error.getField() + " " + error.getDefaultMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Monta a resposta de erro e registra a exceção tratada; usado também pela variante WebFlux.
+     *
+     * @param e Exceção lançada
+     * @param status Status HTTP da resposta
+     * @param message Mensagem de erro
+     * @param path Caminho da requisição
+     * @return Resposta de erro
+     */
+    public static ResponseEntity<ApiErrorResponse> buildErrorResponse(
             final Exception e,
             final HttpStatus status,
             final String message,
-            final HttpServletRequest request) {
+            final String path) {
         ApiErrorResponse errorResponse = ApiErrorResponse.builder()
                 .status(status.value())
                 .error(status.getReasonPhrase())
                 .message(message)
-                .path(request.getRequestURI())
+                .path(path)
                 .build();
         log.error("Exception handled: {}", errorResponse, e);
         return ResponseEntity.status(status).body(errorResponse);
     }
+
+    private static ResponseEntity<ApiErrorResponse> buildErrorResponse(
+            final Exception e,
+            final HttpStatus status,
+            final String message,
+            final HttpServletRequest request) {
+        return buildErrorResponse(e, status, message, request.getRequestURI());
+    }
 }
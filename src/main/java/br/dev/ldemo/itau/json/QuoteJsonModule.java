@@ -0,0 +1,243 @@
+package br.dev.ldemo.itau.json;
+
+import br.dev.ldemo.itau.dto.CustomerInputDto;
+import br.dev.ldemo.itau.dto.CustomerOutputDto;
+import br.dev.ldemo.itau.dto.CustomerWrapper;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+/**
+ * Hand-written streaming (de)serializers for the quote request and response. They read tokens straight into
+ * the records, without reflection, bean properties or intermediate trees, and parse {@code yyyy-MM-dd} dates
+ * from the parser's buffer. The wire format is the one Jackson derives from the types; anything outside the
+ * fast path (numbers as strings, other date shapes, unknown fields) is handed back to Jackson, so coercion,
+ * error messages and {@code FAIL_ON_*} settings behave as before.
+ */
+public class QuoteJsonModule extends SimpleModule {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString DOCUMENT = new SerializedString("document");
+    private static final SerializedString BIRTH_DATE = new SerializedString("birthDate");
+    private static final SerializedString LOCATION = new SerializedString("location");
+    private static final SerializedString VEHICLE_VALUE = new SerializedString("vehicle_value");
+    private static final SerializedString CUSTOMER = new SerializedString("customer");
+
+    public QuoteJsonModule() {
+        super("QuoteJsonModule");
+        CustomerInputDtoDeserializer inputDeserializer = new CustomerInputDtoDeserializer();
+        CustomerInputDtoSerializer inputSerializer = new CustomerInputDtoSerializer();
+        addDeserializer(CustomerInputDto.class, inputDeserializer);
+        addSerializer(CustomerInputDto.class, inputSerializer);
+        addDeserializer(CustomerWrapper.class, new CustomerWrapperDeserializer(inputDeserializer));
+        addSerializer(CustomerWrapper.class, new CustomerWrapperSerializer(inputSerializer));
+        addSerializer(CustomerOutputDto.class, new CustomerOutputDtoSerializer());
+    }
+
+    static final class CustomerInputDtoDeserializer extends StdDeserializer<CustomerInputDto> {
+
+        CustomerInputDtoDeserializer() {
+            super(CustomerInputDto.class);
+        }
+
+        @Override
+        public CustomerInputDto deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (!p.isExpectedStartObjectToken()) {
+                return (CustomerInputDto) ctxt.handleUnexpectedToken(CustomerInputDto.class, p);
+            }
+            String name = null;
+            String document = null;
+            LocalDate birthDate = null;
+            String location = null;
+            double vehicleValue = 0.0;
+            for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+                p.nextToken();
+                switch (field) {
+                    case "name" -> name = readString(p, ctxt);
+                    case "document" -> document = readString(p, ctxt);
+                    case "birthDate" -> birthDate = readLocalDate(p, ctxt);
+                    case "location" -> location = readString(p, ctxt);
+                    case "vehicle_value" -> vehicleValue = readDouble(p, ctxt);
+                    default -> ctxt.handleUnknownProperty(p, this, CustomerInputDto.class, field);
+                }
+            }
+            return new CustomerInputDto(name, document, birthDate, location, vehicleValue);
+        }
+    }
+
+    static final class CustomerWrapperDeserializer extends StdDeserializer<CustomerWrapper> {
+
+        private final CustomerInputDtoDeserializer inputDeserializer;
+
+        CustomerWrapperDeserializer(CustomerInputDtoDeserializer inputDeserializer) {
+            super(CustomerWrapper.class);
+            this.inputDeserializer = inputDeserializer;
+        }
+
+        @Override
+        public CustomerWrapper deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (!p.isExpectedStartObjectToken()) {
+                return (CustomerWrapper) ctxt.handleUnexpectedToken(CustomerWrapper.class, p);
+            }
+            CustomerWrapper wrapper = new CustomerWrapper();
+            for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+                JsonToken token = p.nextToken();
+                if ("customer".equals(field)) {
+                    wrapper.setCustomer(token == JsonToken.VALUE_NULL ? null : inputDeserializer.deserialize(p, ctxt));
+                } else {
+                    ctxt.handleUnknownProperty(p, this, CustomerWrapper.class, field);
+                }
+            }
+            return wrapper;
+        }
+    }
+
+    static final class CustomerInputDtoSerializer extends StdSerializer<CustomerInputDto> {
+
+        CustomerInputDtoSerializer() {
+            super(CustomerInputDto.class);
+        }
+
+        @Override
+        public void serialize(CustomerInputDto value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            gen.writeFieldName(NAME);
+            gen.writeString(value.name());
+            gen.writeFieldName(DOCUMENT);
+            gen.writeString(value.document());
+            if (value.birthDate() == null || !provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+                gen.writeFieldName(BIRTH_DATE);
+                gen.writeString(value.birthDate() == null ? null : value.birthDate().toString());
+            } else {
+                provider.defaultSerializeField(BIRTH_DATE.getValue(), value.birthDate(), gen);
+            }
+            gen.writeFieldName(LOCATION);
+            gen.writeString(value.location());
+            gen.writeFieldName(VEHICLE_VALUE);
+            gen.writeNumber(value.vehicle_value());
+            gen.writeEndObject();
+        }
+    }
+
+    static final class CustomerWrapperSerializer extends StdSerializer<CustomerWrapper> {
+
+        private final CustomerInputDtoSerializer inputSerializer;
+
+        CustomerWrapperSerializer(CustomerInputDtoSerializer inputSerializer) {
+            super(CustomerWrapper.class);
+            this.inputSerializer = inputSerializer;
+        }
+
+        @Override
+        public void serialize(CustomerWrapper value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            gen.writeFieldName(CUSTOMER);
+            if (value.getCustomer() == null) {
+                gen.writeNull();
+            } else {
+                inputSerializer.serialize(value.getCustomer(), gen, provider);
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    /**
+     * Keeps {@code @JsonInclude(NON_NULL)} of {@link CustomerOutputDto#id()}.
+     */
+    static final class CustomerOutputDtoSerializer extends StdSerializer<CustomerOutputDto> {
+
+        CustomerOutputDtoSerializer() {
+            super(CustomerOutputDto.class);
+        }
+
+        @Override
+        public void serialize(CustomerOutputDto value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            if (value.id() != null) {
+                gen.writeFieldName(ID);
+                gen.writeNumber(value.id());
+            }
+            gen.writeFieldName(NAME);
+            gen.writeString(value.name());
+            gen.writeFieldName(LOCATION);
+            gen.writeString(value.location());
+            gen.writeFieldName(VEHICLE_VALUE);
+            gen.writeNumber(value.vehicle_value());
+            gen.writeEndObject();
+        }
+    }
+
+    private static String readString(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return switch (p.currentToken()) {
+            case VALUE_STRING -> p.getText();
+            case VALUE_NULL -> null;
+            default -> ctxt.readValue(p, String.class);
+        };
+    }
+
+    private static double readDouble(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_FLOAT || token == JsonToken.VALUE_NUMBER_INT) {
+            return p.getDoubleValue();
+        }
+        return ctxt.readValue(p, Double.TYPE);
+    }
+
+    private static LocalDate readLocalDate(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token == JsonToken.VALUE_STRING && p.getTextLength() == 10) {
+            LocalDate date = parseIsoDate(p.getTextCharacters(), p.getTextOffset());
+            if (date != null) {
+                return date;
+            }
+        }
+        return ctxt.readValue(p, LocalDate.class);
+    }
+
+    /**
+     * Parses {@code yyyy-MM-dd}; returns null for anything else so the caller can defer to Jackson.
+     */
+    static LocalDate parseIsoDate(char[] text, int offset) {
+        if (text[offset + 4] != '-' || text[offset + 7] != '-') {
+            return null;
+        }
+        int year = digits(text, offset, 4);
+        int month = digits(text, offset + 5, 2);
+        int day = digits(text, offset + 8, 2);
+        if (year < 0 || month < 0 || day < 0) {
+            return null;
+        }
+        try {
+            return LocalDate.of(year, month, day);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private static int digits(char[] text, int offset, int length) {
+        int value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            int digit = text[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,26 @@
+package br.dev.ldemo.itau.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * Drops {@link LogMarkers#HOT_PATH} events up to INFO for requests not chosen by {@link RequestSamplingFilter}.
+ * A turbo filter runs before the event (and its message) is built, so a dropped log costs only this check.
+ * Events outside a sampled request decision (no MDC key) and warnings or errors are always kept.
+ */
+public class HotPathSamplingFilter extends TurboFilter {
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (marker == null || level.isGreaterOrEqual(Level.WARN) || !marker.contains(LogMarkers.HOT_PATH)) {
+            return FilterReply.NEUTRAL;
+        }
+        return RequestSamplingFilter.NOT_SAMPLED.equals(MDC.get(RequestSamplingFilter.SAMPLED_KEY))
+                ? FilterReply.DENY
+                : FilterReply.NEUTRAL;
+    }
+}
@@ -0,0 +1,16 @@
+package br.dev.ldemo.itau.logging;
+
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+public final class LogMarkers {
+
+    /**
+     * Logs written on every quote request. They are only kept for sampled requests
+     * (see {@link HotPathSamplingFilter}).
+     */
+    public static final Marker HOT_PATH = MarkerFactory.getMarker("HOT_PATH");
+
+    private LogMarkers() {
+    }
+}
@@ -0,0 +1,42 @@
+package br.dev.ldemo.itau.logging;
+
+/**
+ * Masks personal data for logs. Only called from {@code toString()}, which SLF4J invokes only when
+ * the event is actually written.
+ */
+public final class PiiMasking {
+
+    private static final int VISIBLE_SUFFIX = 2;
+
+    private PiiMasking() {
+    }
+
+    /**
+     * Keeps the last two characters, e.g. {@code 12345678900 -> *********00}.
+     */
+    public static String mask(String value) {
+        if (value == null) {
+            return null;
+        }
+        int visible = value.length() > VISIBLE_SUFFIX * 2 ? VISIBLE_SUFFIX : 0;
+        return "*".repeat(value.length() - visible) + value.substring(value.length() - visible);
+    }
+
+    /**
+     * Keeps only the first character of each word, e.g. {@code Maria Silva -> M**** S****}.
+     */
+    public static String maskName(String value) {
+        if (value == null) {
+            return null;
+        }
+        StringBuilder masked = new StringBuilder(value.length());
+        boolean wordStart = true;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            boolean letter = !Character.isWhitespace(c);
+            masked.append(letter && !wordStart ? '*' : c);
+            wordStart = !letter;
+        }
+        return masked.toString();
+    }
+}
@@ -0,0 +1,42 @@
+package br.dev.ldemo.itau.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides once per request whether its hot-path logs are kept, so a sampled request logs all of its steps
+ * instead of a random subset of lines. The decision is kept in the MDC for {@link HotPathSamplingFilter}.
+ */
+@Component
+public class RequestSamplingFilter extends OncePerRequestFilter {
+
+    static final String SAMPLED_KEY = "sampled";
+    static final String NOT_SAMPLED = "false";
+
+    private final double sampleRate;
+
+    public RequestSamplingFilter(@Value("${app.logging.hot-path-sample-rate:1.0}") double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean sampled = sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+        MDC.put(SAMPLED_KEY, Boolean.toString(sampled));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(SAMPLED_KEY);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package br.dev.ldemo.itau.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Limits requests in flight and adapts the limit to latency (AIMD): at the end of each window, if the
+ * window's p99 latency passed the target the limit is multiplied by the backoff factor, otherwise it grows
+ * by one when the limit was actually reached. Latencies go to a lock-free power-of-two histogram.
+ */
+class AdaptiveConcurrencyLimiter {
+
+    private static final int BUCKETS = 64;
+
+    private final RateLimitProperties.Concurrency properties;
+    private final long targetP99Nanos;
+    private final long windowNanos;
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+    private final AtomicLong windowStart;
+    private volatile boolean limitReached;
+
+    AdaptiveConcurrencyLimiter(RateLimitProperties.Concurrency properties, long nowNanos) {
+        this.properties = properties;
+        this.targetP99Nanos = properties.getTargetP99().toNanos();
+        this.windowNanos = properties.getWindow().toNanos();
+        this.limit = new AtomicInteger(properties.getInitialLimit());
+        this.windowStart = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Reserves a slot. Every successful call must be paired with {@link #release(long, long)}.
+     */
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.get()) {
+                limitReached = true;
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void release(long latencyNanos, long nowNanos) {
+        inFlight.decrementAndGet();
+        histogram.incrementAndGet(bucket(latencyNanos));
+        long start = windowStart.get();
+        // only the thread that closes the window adjusts the limit
+        if (nowNanos - start >= windowNanos && windowStart.compareAndSet(start, nowNanos)) {
+            adjust(drainP99());
+        }
+    }
+
+    /**
+     * Frees a slot without adding its latency to the window. Streaming and bulk responses run for minutes;
+     * their durations would push the p99 over the target and shrink the limit for every other request.
+     */
+    void releaseUnsampled() {
+        inFlight.decrementAndGet();
+    }
+
+    int getLimit() {
+        return limit.get();
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void adjust(long p99Nanos) {
+        int current = limit.get();
+        int next;
+        if (p99Nanos > targetP99Nanos) {
+            next = Math.max(properties.getMinLimit(), (int) (current * properties.getBackoff()));
+        } else if (limitReached) {
+            next = Math.min(properties.getMaxLimit(), current + 1);
+        } else {
+            next = current;
+        }
+        limitReached = false;
+        limit.set(next);
+    }
+
+    /**
+     * Upper bound of the bucket holding the 99th percentile of the window; resets the histogram.
+     */
+    private long drainP99() {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = histogram.getAndSet(i, 0);
+            total += counts[i];
+        }
+        long threshold = (long) Math.ceil(total * 0.99);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (total > 0 && seen >= threshold) {
+                return i >= 63 ? Long.MAX_VALUE : (1L << i);
+            }
+        }
+        return 0;
+    }
+
+    private static int bucket(long nanos) {
+        // bucket i holds latencies in (2^(i-1), 2^i] nanoseconds
+        return nanos <= 1 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos - 1));
+    }
+}
@@ -0,0 +1,33 @@
+package br.dev.ldemo.itau.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * One {@link TokenBucket} per client. Buckets live in a bounded cache, so a flood of distinct
+ * addresses cannot grow the heap.
+ */
+class ClientRateLimiter {
+
+    private final RateLimitProperties properties;
+    private final Cache<String, TokenBucket> buckets;
+
+    ClientRateLimiter(RateLimitProperties properties) {
+        this.properties = properties;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxClients())
+                .build();
+    }
+
+    /**
+     * @return 0 when the client may proceed, otherwise the nanoseconds until it may retry
+     */
+    long tryAcquire(String client, long nowNanos) {
+        return buckets.get(client, key -> newBucket(key, nowNanos)).tryAcquire(nowNanos);
+    }
+
+    private TokenBucket newBucket(String client, long nowNanos) {
+        RateLimitProperties.Quota quota = properties.getClients().getOrDefault(client, properties.getDefaultQuota());
+        return new TokenBucket(quota.getRequestsPerSecond(), quota.getBurst(), nowNanos);
+    }
+}
@@ -0,0 +1,172 @@
+package br.dev.ldemo.itau.ratelimit;
+
+import br.dev.ldemo.itau.exception.ApiErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Guards the quote endpoints: a per-client token bucket answers 429 with Retry-After, and the adaptive
+ * concurrency limit sheds load with 503 once latency passes the configured p99 target.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final String PROTECTED_PATH = "/customers";
+
+    private final RateLimitProperties properties;
+    private final ClientRateLimiter clientRateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final ObjectMapper objectMapper;
+    private final Counter rateLimited;
+    private final Counter concurrencyRejected;
+
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.clientRateLimiter = new ClientRateLimiter(properties);
+        this.concurrencyLimiter = properties.getConcurrency().isEnabled()
+                ? new AdaptiveConcurrencyLimiter(properties.getConcurrency(), System.nanoTime())
+                : null;
+        this.rateLimited = rejectedCounter(meterRegistry, "rate_limit");
+        this.concurrencyRejected = rejectedCounter(meterRegistry, "concurrency");
+        if (concurrencyLimiter != null) {
+            Gauge.builder("quote.concurrency.limit", concurrencyLimiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .description("Current adaptive concurrency limit of the quote endpoints")
+                    .register(meterRegistry);
+            Gauge.builder("quote.concurrency.inflight", concurrencyLimiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .description("Quote requests currently in flight")
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(PROTECTED_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        long waitNanos = clientRateLimiter.tryAcquire(clientKey(request), start);
+        if (waitNanos > 0) {
+            rateLimited.increment();
+            reject(request, response, HttpStatus.TOO_MANY_REQUESTS, retryAfterSeconds(waitNanos),
+                    "Limite de requisições excedido");
+            return;
+        }
+        if (concurrencyLimiter == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!concurrencyLimiter.tryAcquire()) {
+            concurrencyRejected.increment();
+            reject(request, response, HttpStatus.SERVICE_UNAVAILABLE, 1,
+                    "Serviço sobrecarregado, tente novamente");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // streaming responses are written after this returns: the request stays in flight until they end,
+                // but their duration is not a request latency and stays out of the limit adjustment
+                request.getAsyncContext().addListener(new ReleaseOnCompletion());
+            } else {
+                release(start);
+            }
+        }
+    }
+
+    private void release(long start) {
+        long now = System.nanoTime();
+        concurrencyLimiter.release(now - start, now);
+    }
+
+    /**
+     * The API key when it is one of the configured {@code clients}, otherwise the remote address: an unknown key
+     * would give a client a fresh bucket on every request, or another client's quota.
+     */
+    private String clientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader(properties.getClientHeader());
+        return apiKey != null && properties.getClients().containsKey(apiKey) ? apiKey : request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+                        long retryAfterSeconds, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiErrorResponse.builder()
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .path(request.getRequestURI())
+                .build());
+    }
+
+    static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * Releases the concurrency slot of an async request once, whichever way it ends.
+     */
+    private final class ReleaseOnCompletion implements AsyncListener {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            releaseOnce();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            releaseOnce();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            releaseOnce();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // a new async cycle drops the registered listeners
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void releaseOnce() {
+            if (released.compareAndSet(false, true)) {
+                concurrencyLimiter.releaseUnsampled();
+            }
+        }
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("http.requests.rejected")
+                .description("Requests rejected before reaching the quote endpoints")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,66 @@
+package br.dev.ldemo.itau.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-client rate limits and adaptive concurrency limit of the customer endpoints, configured under
+ * {@code app.rate-limit}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /** Header identifying the client; requests without a key listed in {@code clients} are keyed by remote address. */
+    private String clientHeader = "X-API-Key";
+
+    /** Quota of clients without their own entry in {@code clients}. */
+    private Quota defaultQuota = new Quota();
+
+    /** Quotas by client key (API key or IP); only the API keys listed here are trusted. */
+    private Map<String, Quota> clients = new LinkedHashMap<>();
+
+    /** Clients tracked at once; the least recently seen are forgotten (and start again with a full bucket). */
+    private long maxClients = 100_000;
+
+    private Concurrency concurrency = new Concurrency();
+
+    @Getter
+    @Setter
+    public static class Quota {
+
+        private double requestsPerSecond = 100;
+
+        /** Requests a client may send at once after being idle. */
+        private int burst = 200;
+    }
+
+    @Getter
+    @Setter
+    public static class Concurrency {
+
+        private boolean enabled = true;
+
+        private int initialLimit = 100;
+
+        private int minLimit = 10;
+
+        private int maxLimit = 1000;
+
+        /** Once the p99 latency of a window passes this target, the limit is reduced. */
+        private Duration targetP99 = Duration.ofMillis(500);
+
+        private Duration window = Duration.ofSeconds(1);
+
+        /** Factor applied to the limit when the target is missed. */
+        private double backoff = 0.9;
+    }
+}
@@ -0,0 +1,42 @@
+package br.dev.ldemo.itau.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket, implemented as the equivalent generic cell rate algorithm (GCRA): the whole state
+ * is one {@code long}, the time at which the bucket would be full again, updated with compare-and-set.
+ */
+final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(double requestsPerSecond, int burst, long nowNanos) {
+        if (!(requestsPerSecond > 0) || burst < 1) {
+            throw new IllegalArgumentException("Invalid rate limit quota");
+        }
+        this.emissionIntervalNanos = Math.max(1, (long) (1_000_000_000L / requestsPerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes a token at {@code nowNanos} ({@link System#nanoTime()}).
+     *
+     * @return 0 when the request is allowed, otherwise the nanoseconds until a token is available
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long arrival = Math.max(current, nowNanos);
+            long wait = arrival - nowNanos - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(current, arrival + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+}
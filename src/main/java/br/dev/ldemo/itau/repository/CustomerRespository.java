@@ -1,11 +1,216 @@
 package br.dev.ldemo.itau.repository;
 
+import br.dev.ldemo.itau.dto.CustomerOutputDto;
+import br.dev.ldemo.itau.dto.QuoteExportRow;
 import br.dev.ldemo.itau.entity.Customer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface CustomerRespository extends JpaRepository<Customer, Long> {
+public interface CustomerRespository extends JpaRepository<Customer, Long>, JpaSpecificationExecutor<Customer>,
+        CustomerSearchRepository {
 
     Optional<Customer> findById(Long id);
+
+    Optional<Customer> findByIdempotencyKey(String idempotencyKey);
+
+    /**
+     * Builds the {@link CustomerOutputDto} in the query, so reads skip entity hydration, the persistence
+     * context and dirty checking. Quotes saved before the premium was persisted are reported as zero.
+     */
+    String QUOTE_PROJECTION = "new br.dev.ldemo.itau.dto.CustomerOutputDto(c.id, c.name, c.location, coalesce(c.premium, 0.0))";
+
+    @Transactional(readOnly = true)
+    @Query("select " + QUOTE_PROJECTION + " from Customer c where c.id = :id")
+    Optional<CustomerOutputDto> findQuoteById(@Param("id") Long id);
+
+    /**
+     * {@link #findQuoteById} in a read-write transaction, so it always reads the primary, which the replicas may
+     * lag behind.
+     */
+    @Transactional
+    @Query("select " + QUOTE_PROJECTION + " from Customer c where c.id = :id")
+    Optional<CustomerOutputDto> findQuoteOnPrimaryById(@Param("id") Long id);
+
+    /**
+     * Keyset page: quotes with id greater than {@code after}, in id order.
+     */
+    @Transactional(readOnly = true)
+    @Query("select " + QUOTE_PROJECTION + " from Customer c where c.id > :after order by c.id")
+    List<CustomerOutputDto> findQuotesAfter(@Param("after") long after, Limit limit);
+
+    /**
+     * Forward-only cursor over all quotes. Must be consumed (and closed) inside a transaction.
+     * On MySQL the fetch size is only honored with {@code useCursorFetch=true} in the JDBC url.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select " + QUOTE_PROJECTION + " from Customer c order by c.id")
+    Stream<CustomerOutputDto> streamAllQuotes();
+
+    /**
+     * Forward-only cursor over the quotes to export, in id order. Must be consumed (and closed) inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            select new br.dev.ldemo.itau.dto.QuoteExportRow(c.id, c.name, c.location, c.vehicle_value, c.premium, c.rate, c.calculatedAt)
+            from Customer c
+            where c.id > :after
+                and (:to is null or c.id <= :to)
+                and (:calculatedFrom is null or c.calculatedAt >= :calculatedFrom)
+                and (:calculatedBefore is null or c.calculatedAt < :calculatedBefore)
+            order by c.id
+            """)
+    Stream<QuoteExportRow> streamForExport(@Param("after") long after,
+                                           @Param("to") Long to,
+                                           @Param("calculatedFrom") Instant calculatedFrom,
+                                           @Param("calculatedBefore") Instant calculatedBefore);
+
+    /**
+     * Pricing inputs of a customer, read without loading the entity.
+     */
+    Optional<PricingInputs> findPricingInputsById(Long id);
+
+    /**
+     * Updates a customer in a single statement; null arguments keep the stored value. A non-null
+     * {@code expectedVehicleValue} or {@code expectedLocation} makes the update conditional on the stored
+     * value, so a rate calculated from values read earlier is not written over newer ones.
+     *
+     * @return number of rows updated (0 when the id does not exist or an expected value no longer matches)
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            update Customer c set
+                c.name = coalesce(:name, c.name),
+                c.document = coalesce(:document, c.document),
+                c.birthDate = coalesce(:birthDate, c.birthDate),
+                c.location = coalesce(:location, c.location),
+                c.vehicle_value = coalesce(:vehicleValue, c.vehicle_value),
+                c.rate = coalesce(:rate, c.rate),
+                c.premium = coalesce(:premium, c.premium),
+                c.calculatedAt = coalesce(:calculatedAt, c.calculatedAt)
+            where c.id = :id
+                and (:expectedVehicleValue is null or c.vehicle_value = :expectedVehicleValue)
+                and (:expectedLocation is null or c.location = :expectedLocation)
+            """)
+    int updateQuote(@Param("id") Long id,
+                    @Param("name") String name,
+                    @Param("document") String document,
+                    @Param("birthDate") LocalDate birthDate,
+                    @Param("location") String location,
+                    @Param("vehicleValue") Double vehicleValue,
+                    @Param("rate") Double rate,
+                    @Param("premium") Double premium,
+                    @Param("calculatedAt") Instant calculatedAt,
+                    @Param("expectedVehicleValue") Double expectedVehicleValue,
+                    @Param("expectedLocation") String expectedLocation);
+
+    /**
+     * Deletes a customer in a single statement.
+     *
+     * @return number of rows deleted (0 when the id does not exist)
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from Customer c where c.id = :id")
+    int deleteQuoteById(@Param("id") Long id);
+
+    /**
+     * Keyset scan of the ids matching the filter arguments (null arguments match everything). Quotes
+     * never priced (null {@code calculatedAt}) count as calculated before any instant.
+     */
+    @Query("""
+            select c.id from Customer c
+            where c.id > :after
+                and (:location is null or c.location = :location)
+                and (:calculatedBefore is null or c.calculatedAt < :calculatedBefore or c.calculatedAt is null)
+            order by c.id
+            """)
+    List<Long> findIdsMatching(@Param("after") long after,
+                               @Param("location") String location,
+                               @Param("calculatedBefore") Instant calculatedBefore,
+                               Limit limit);
+
+    /**
+     * Keyset scan of the pricing inputs of the quotes matching the filter arguments that can be priced.
+     */
+    @Query("""
+            select c.id as id, c.vehicle_value as vehicle_value, c.location as location from Customer c
+            where c.id > :after
+                and c.vehicle_value > 0
+                and (:location is null or c.location = :location)
+                and (:calculatedBefore is null or c.calculatedAt < :calculatedBefore or c.calculatedAt is null)
+            order by c.id
+            """)
+    List<PricingRow> findPricingRowsMatching(@Param("after") long after,
+                                             @Param("location") String location,
+                                             @Param("calculatedBefore") Instant calculatedBefore,
+                                             Limit limit);
+
+    /**
+     * Deletes the given ids that still match the filter arguments.
+     *
+     * @return number of rows deleted
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            delete from Customer c
+            where c.id in :ids
+                and (:location is null or c.location = :location)
+                and (:calculatedBefore is null or c.calculatedAt < :calculatedBefore or c.calculatedAt is null)
+            """)
+    int deleteMatchingByIdIn(@Param("ids") Collection<Long> ids,
+                             @Param("location") String location,
+                             @Param("calculatedBefore") Instant calculatedBefore);
+
+    /**
+     * Applies {@code rate} to the given ids whose stored pricing inputs still select it: {@code location}
+     * and a vehicle value in ({@code lowerBound}, {@code upperBound}] (null bounds are open). Quotes changed
+     * since they were read into another location or band are left alone.
+     *
+     * @return number of rows updated
+     */
+    @Modifying
+    @Query("""
+            update Customer c set
+                c.rate = :rate,
+                c.premium = c.vehicle_value * :rate,
+                c.calculatedAt = :calculatedAt
+            where c.id in :ids
+                and (c.location = :location or (:location is null and c.location is null))
+                and c.vehicle_value > 0
+                and (:lowerBound is null or c.vehicle_value > :lowerBound)
+                and (:upperBound is null or c.vehicle_value <= :upperBound)
+            """)
+    int repriceByIdIn(@Param("ids") Collection<Long> ids,
+                      @Param("rate") double rate,
+                      @Param("calculatedAt") Instant calculatedAt,
+                      @Param("location") String location,
+                      @Param("lowerBound") Double lowerBound,
+                      @Param("upperBound") Double upperBound);
+
+    interface PricingInputs {
+        Double getVehicle_value();
+
+        String getLocation();
+    }
+
+    interface PricingRow extends PricingInputs {
+        Long getId();
+    }
 }
@@ -0,0 +1,19 @@
+package br.dev.ldemo.itau.repository;
+
+import br.dev.ldemo.itau.dto.CustomerOutputDto;
+import br.dev.ldemo.itau.entity.Customer;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Specification searches projected into {@link CustomerOutputDto}, like the {@code QUOTE_PROJECTION} queries
+ * of {@link CustomerRespository}; the fluent {@code findBy} would load and manage every matching entity.
+ */
+public interface CustomerSearchRepository {
+
+    /**
+     * Returns up to {@code limit} quotes matching {@code spec}, in id order.
+     */
+    List<CustomerOutputDto> searchQuotes(Specification<Customer> spec, int limit);
+}
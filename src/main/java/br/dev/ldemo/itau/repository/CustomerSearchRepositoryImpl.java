@@ -0,0 +1,35 @@
+package br.dev.ldemo.itau.repository;
+
+import br.dev.ldemo.itau.dto.CustomerOutputDto;
+import br.dev.ldemo.itau.entity.Customer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+class CustomerSearchRepositoryImpl implements CustomerSearchRepository {
+
+    private final EntityManager entityManager;
+
+    CustomerSearchRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<CustomerOutputDto> searchQuotes(Specification<Customer> spec, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CustomerOutputDto> query = cb.createQuery(CustomerOutputDto.class);
+        Root<Customer> root = query.from(Customer.class);
+        query.select(cb.construct(CustomerOutputDto.class,
+                        root.get("id"),
+                        root.get("name"),
+                        root.get("location"),
+                        cb.coalesce(root.<Double>get("premium"), 0.0)))
+                .where(spec.toPredicate(root, query, cb))
+                .orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
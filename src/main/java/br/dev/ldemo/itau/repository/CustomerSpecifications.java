@@ -0,0 +1,36 @@
+package br.dev.ldemo.itau.repository;
+
+import br.dev.ldemo.itau.dto.CustomerSearchCriteria;
+import br.dev.ldemo.itau.entity.Customer;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Search predicates over {@link Customer}. Only the given criteria become predicates, so the database
+ * can pick the matching index instead of evaluating {@code (:param is null or ...)} for every row.
+ */
+public final class CustomerSpecifications {
+
+    private CustomerSpecifications() {
+    }
+
+    public static Specification<Customer> matching(CustomerSearchCriteria criteria, long after) {
+        Specification<Customer> spec = idGreaterThan(after);
+        if (criteria.document() != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("document"), criteria.document()));
+        }
+        if (criteria.location() != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("location"), criteria.location()));
+        }
+        if (criteria.birthDateFrom() != null) {
+            spec = spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("birthDate"), criteria.birthDateFrom()));
+        }
+        if (criteria.birthDateTo() != null) {
+            spec = spec.and((root, query, cb) -> cb.lessThanOrEqualTo(root.get("birthDate"), criteria.birthDateTo()));
+        }
+        return spec;
+    }
+
+    private static Specification<Customer> idGreaterThan(long after) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), after);
+    }
+}
@@ -0,0 +1,24 @@
+package br.dev.ldemo.itau.service;
+
+import br.dev.ldemo.itau.dto.BulkProgressDto;
+import br.dev.ldemo.itau.dto.QuoteFilter;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Set-based operations over many quotes. Work is split in chunks of ids, each committed in its own
+ * transaction, so long runs never hold a large transaction or its locks.
+ */
+public interface CustomerBulkService {
+
+    /**
+     * Deletes the quotes in {@code ids} (or every quote when {@code ids} is null) that match {@code filter}.
+     */
+    void delete(Collection<Long> ids, QuoteFilter filter, Consumer<BulkProgressDto> progress);
+
+    /**
+     * Recalculates rate and premium of the quotes matching {@code filter} with the current pricing rules.
+     */
+    void reprice(QuoteFilter filter, Consumer<BulkProgressDto> progress);
+}
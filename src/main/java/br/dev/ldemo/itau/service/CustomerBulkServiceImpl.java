@@ -0,0 +1,131 @@
+package br.dev.ldemo.itau.service;
+
+import br.dev.ldemo.itau.dto.BulkProgressDto;
+import br.dev.ldemo.itau.dto.QuoteFilter;
+import br.dev.ldemo.itau.repository.CustomerRespository;
+import br.dev.ldemo.itau.service.pricing.Location;
+import br.dev.ldemo.itau.service.pricing.PricingRuleEngine;
+import br.dev.ldemo.itau.service.pricing.PricingRuleTable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class CustomerBulkServiceImpl implements CustomerBulkService {
+
+    private final CustomerRespository repository;
+    private final PricingRuleEngine pricingRuleEngine;
+    private final CustomerQuoteCache customerQuoteCache;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.quote.bulk.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    public CustomerBulkServiceImpl(CustomerRespository repository, PricingRuleEngine pricingRuleEngine,
+                                   CustomerQuoteCache customerQuoteCache, PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.pricingRuleEngine = pricingRuleEngine;
+        this.customerQuoteCache = customerQuoteCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void delete(Collection<Long> ids, QuoteFilter filter, Consumer<BulkProgressDto> progress) {
+        if (ids == null) {
+            deleteMatching(filter, progress);
+            return;
+        }
+        List<Long> sorted = ids.stream().distinct().sorted().toList();
+        long affected = 0;
+        for (int from = 0; from < sorted.size(); from += chunkSize) {
+            List<Long> chunk = sorted.subList(from, Math.min(sorted.size(), from + chunkSize));
+            affected += deleteChunk(chunk, filter);
+            progress.accept(new BulkProgressDto(from + chunk.size(), affected, chunk.getLast(), false));
+        }
+        finish("Deleted", sorted.size(), affected, sorted.isEmpty() ? null : sorted.getLast(), progress);
+    }
+
+    private void deleteMatching(QuoteFilter filter, Consumer<BulkProgressDto> progress) {
+        long after = 0;
+        long processed = 0;
+        long affected = 0;
+        while (true) {
+            List<Long> chunk = repository.findIdsMatching(after, filter.location(), filter.calculatedBefore(), Limit.of(chunkSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            after = chunk.getLast();
+            processed += chunk.size();
+            affected += deleteChunk(chunk, filter);
+            progress.accept(new BulkProgressDto(processed, affected, after, false));
+        }
+        finish("Deleted", processed, affected, processed == 0 ? null : after, progress);
+    }
+
+    private int deleteChunk(List<Long> ids, QuoteFilter filter) {
+        // the filter is repeated so rows changed since the scan are left alone
+        int deleted = repository.deleteMatchingByIdIn(ids, filter.location(), filter.calculatedBefore());
+        ids.forEach(customerQuoteCache::invalidate);
+        return deleted;
+    }
+
+    public void reprice(QuoteFilter filter, Consumer<BulkProgressDto> progress) {
+        long after = 0;
+        long processed = 0;
+        long affected = 0;
+        while (true) {
+            List<CustomerRespository.PricingRow> chunk = repository.findPricingRowsMatching(
+                    after, filter.location(), filter.calculatedBefore(), Limit.of(chunkSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            after = chunk.getLast().getId();
+            processed += chunk.size();
+            affected += repriceChunk(chunk);
+            progress.accept(new BulkProgressDto(processed, affected, after, false));
+        }
+        finish("Repriced", processed, affected, processed == 0 ? null : after, progress);
+    }
+
+    /**
+     * Groups the chunk by location and pricing band, so it is updated with one statement per distinct rate
+     * (a handful of bands and locations) instead of one per quote. Each statement only touches rows whose
+     * location and band are still the ones read, so a quote changed meanwhile keeps its newer price.
+     */
+    private int repriceChunk(List<CustomerRespository.PricingRow> rows) {
+        PricingRuleTable table = pricingRuleEngine.current();
+        Map<RateGroup, List<Long>> idsByGroup = rows.stream().collect(Collectors.groupingBy(
+                row -> new RateGroup(row.getLocation(), table.tier(row.getVehicle_value(), Location.from(row.getLocation()))),
+                Collectors.mapping(CustomerRespository.PricingRow::getId, Collectors.toCollection(ArrayList::new))));
+        Instant calculatedAt = Instant.now();
+        Integer updated = transactionTemplate.execute(status -> idsByGroup.entrySet().stream()
+                .mapToInt(entry -> {
+                    RateGroup group = entry.getKey();
+                    Location location = Location.from(group.location());
+                    return repository.repriceByIdIn(entry.getValue(), table.rateOfTier(group.tier(), location), calculatedAt,
+                            group.location(), table.lowerBound(group.tier(), location), table.upperBound(group.tier(), location));
+                })
+                .sum());
+        rows.forEach(row -> customerQuoteCache.invalidate(row.getId()));
+        return updated == null ? 0 : updated;
+    }
+
+    private void finish(String operation, long processed, long affected, Long lastId, Consumer<BulkProgressDto> progress) {
+        log.info("{} {} of {} quotes", operation, affected, processed);
+        progress.accept(new BulkProgressDto(processed, affected, lastId, true));
+    }
+
+    private record RateGroup(String location, int tier) {
+    }
+}
@@ -0,0 +1,18 @@
+package br.dev.ldemo.itau.service;
+
+import br.dev.ldemo.itau.dto.CustomerInputDto;
+import br.dev.ldemo.itau.dto.QuoteBatchItemDto;
+import br.dev.ldemo.itau.dto.QuoteImportSummaryDto;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+public interface CustomerImportService {
+
+    /**
+     * Validates, prices (in parallel) and saves every customer produced by {@code inputs}, in chunks.
+     * Only rejected rows are published to {@code rejections}; memory is bounded by the chunk size
+     * regardless of the number of rows.
+     */
+    QuoteImportSummaryDto importQuotes(Iterator<CustomerInputDto> inputs, Consumer<QuoteBatchItemDto> rejections);
+}
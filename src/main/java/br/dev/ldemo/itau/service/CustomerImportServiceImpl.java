@@ -0,0 +1,195 @@
+package br.dev.ldemo.itau.service;
+
+import br.dev.ldemo.itau.dto.CustomerInputDto;
+import br.dev.ldemo.itau.dto.QuoteBatchItemDto;
+import br.dev.ldemo.itau.dto.QuoteImportSummaryDto;
+import br.dev.ldemo.itau.entity.Customer;
+import br.dev.ldemo.itau.repository.CustomerRespository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Import pipeline: the caller thread parses a chunk, the pricing pool validates and prices it across cores,
+ * and a writer thread saves it while the next chunk is parsed and priced. At most two chunks are in memory.
+ */
+@Slf4j
+@Service
+public class CustomerImportServiceImpl implements CustomerImportService {
+
+    private final CustomerRespository repository;
+    private final QuotePricing quotePricing;
+    private final CustomerQuoteCache customerQuoteCache;
+    private final ForkJoinPool pricingPool;
+    private final Counter importedRows;
+    private final Counter rejectedRows;
+    private final Timer importTimer;
+
+    @Value("${app.quote.import.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    public CustomerImportServiceImpl(CustomerRespository repository, QuotePricing quotePricing,
+                                     CustomerQuoteCache customerQuoteCache, MeterRegistry meterRegistry,
+                                     @Value("${app.quote.import.parallelism:0}") int parallelism) {
+        this.repository = repository;
+        this.quotePricing = quotePricing;
+        this.customerQuoteCache = customerQuoteCache;
+        this.pricingPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.importedRows = Counter.builder("quote.import.rows").tag("outcome", "imported")
+                .description("Rows imported").register(meterRegistry);
+        this.rejectedRows = Counter.builder("quote.import.rows").tag("outcome", "rejected")
+                .description("Rows rejected").register(meterRegistry);
+        this.importTimer = Timer.builder("quote.import.duration")
+                .description("Duration of whole imports").register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pricingPool.shutdown();
+    }
+
+    public QuoteImportSummaryDto importQuotes(Iterator<CustomerInputDto> inputs, Consumer<QuoteBatchItemDto> rejections) {
+        long start = System.nanoTime();
+        Progress progress = new Progress(rejections);
+        try (ExecutorService writer = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("quote-import-writer").factory())) {
+            CompletableFuture<List<ImportRow>> saving = CompletableFuture.completedFuture(List.of());
+            Chunk chunk;
+            do {
+                chunk = readChunk(inputs, progress.rows);
+                progress.rows += chunk.rows().size();
+                List<ImportRow> rows = chunk.rows();
+                List<ImportRow> priced = pricingPool.submit(() -> rows.parallelStream().map(this::price).toList()).join();
+                List<ImportRow> valid = new ArrayList<>(priced.size());
+                for (ImportRow row : priced) {
+                    if (row.error() != null) {
+                        progress.reject(row);
+                    } else {
+                        valid.add(row);
+                    }
+                }
+                // waiting for the previous save before queueing this one keeps at most two chunks in memory
+                progress.saved(saving.join());
+                progress.saving(valid.size());
+                saving = valid.isEmpty()
+                        ? CompletableFuture.completedFuture(List.of())
+                        : CompletableFuture.supplyAsync(() -> save(valid), writer);
+            } while (!chunk.last());
+            progress.saved(saving.join());
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        importTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        double seconds = Math.max(elapsedNanos, 1) / 1e9;
+        QuoteImportSummaryDto summary = new QuoteImportSummaryDto(progress.rows, progress.imported, progress.rejected,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), progress.rows / seconds);
+        log.info("Import finished: {}", summary);
+        return summary;
+    }
+
+    private Chunk readChunk(Iterator<CustomerInputDto> inputs, long firstIndex) {
+        List<ImportRow> rows = new ArrayList<>(chunkSize);
+        long index = firstIndex;
+        while (rows.size() < chunkSize) {
+            try {
+                if (!inputs.hasNext()) {
+                    return new Chunk(rows, true);
+                }
+            } catch (RuntimeException e) {
+                // the input itself is broken (e.g. truncated file): nothing after this point can be read
+                rows.add(ImportRow.rejected(index, "Malformed input: " + e.getMessage()));
+                return new Chunk(rows, true);
+            }
+            try {
+                rows.add(new ImportRow(index, inputs.next(), null, null));
+            } catch (RuntimeException e) {
+                rows.add(ImportRow.rejected(index, "Malformed row: " + e.getMessage()));
+            }
+            index++;
+        }
+        return new Chunk(rows, false);
+    }
+
+    /**
+     * Runs on the pricing pool: validation and pricing are independent per row.
+     */
+    private ImportRow price(ImportRow row) {
+        if (row.error() != null) {
+            return row;
+        }
+        QuotePricing.Priced priced = quotePricing.validateAndPrice(row.input());
+        return priced.error() != null ? ImportRow.rejected(row.index(), priced.error())
+                : new ImportRow(row.index(), null, priced.customer(), null);
+    }
+
+    /**
+     * Runs on the writer thread. Returns the rows that could not be saved.
+     */
+    private List<ImportRow> save(List<ImportRow> rows) {
+        try {
+            repository.saveAll(rows.stream().map(ImportRow::customer).toList());
+        } catch (RuntimeException e) {
+            log.error("Failed to save import chunk of {} customers", rows.size(), e);
+            return rows.stream().map(row -> ImportRow.rejected(row.index(), "Failed to save quote")).toList();
+        }
+        rows.forEach(row -> customerQuoteCache.invalidate(row.customer().getId()));
+        return List.of();
+    }
+
+    /**
+     * Counts of the running import. Only touched by the caller thread, which also publishes the rejections.
+     */
+    private final class Progress {
+
+        private final Consumer<QuoteBatchItemDto> rejections;
+        private long rows;
+        private long imported;
+        private long rejected;
+        private long pendingSave;
+
+        private Progress(Consumer<QuoteBatchItemDto> rejections) {
+            this.rejections = rejections;
+        }
+
+        private void reject(ImportRow row) {
+            rejected++;
+            rejectedRows.increment();
+            rejections.accept(QuoteBatchItemDto.failure(row.index(), row.error()));
+        }
+
+        private void saving(int rows) {
+            pendingSave = rows;
+        }
+
+        private void saved(List<ImportRow> failed) {
+            failed.forEach(this::reject);
+            long succeeded = pendingSave - failed.size();
+            imported += succeeded;
+            importedRows.increment(succeeded);
+            pendingSave = 0;
+        }
+    }
+
+    private record Chunk(List<ImportRow> rows, boolean last) {
+    }
+
+    private record ImportRow(long index, CustomerInputDto input, Customer customer, String error) {
+
+        private static ImportRow rejected(long index, String error) {
+            return new ImportRow(index, null, null, error);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package br.dev.ldemo.itau.service;
+
+import br.dev.ldemo.itau.dto.CustomerOutputDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process cache of quotes by id (Caffeine, W-TinyLFU eviction). Ids known not to exist are
+ * kept in a separate, shorter-lived negative cache. Hit, miss and eviction counters are published as
+ * the {@code cache.*} meters of {@code customer.quote} and {@code customer.quote.missing}.
+ */
+@Component
+public class CustomerQuoteCache {
+
+    private final Cache<Long, CustomerOutputDto> quotes;
+    private final Cache<Long, Boolean> missing;
+    // one marker per id being loaded; a write to that id removes it, so a load that overlapped the write is not
+    // cached, while writes to other ids leave the load alone
+    private final ConcurrentMap<Long, Object> loads = new ConcurrentHashMap<>();
+
+    public CustomerQuoteCache(MeterRegistry meterRegistry,
+                              @Value("${app.cache.customer-quote.maximum-size:10000}") long maximumSize,
+                              @Value("${app.cache.customer-quote.ttl:5m}") Duration ttl,
+                              @Value("${app.cache.customer-quote.negative-ttl:30s}") Duration negativeTtl) {
+        this.quotes = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.missing = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(negativeTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, quotes, "customer.quote");
+        CaffeineCacheMetrics.monitor(meterRegistry, missing, "customer.quote.missing");
+    }
+
+    /**
+     * Returns the cached quote, loading it with {@code loader} on a miss. An empty load is remembered
+     * in the negative cache, so repeated lookups of the same unknown id do not reach the loader.
+     * <p>
+     * The loader runs outside the cache: a computing {@code get} would run the query while holding a
+     * {@code synchronized} map bin, pinning virtual threads and blocking every other id in the bin.
+     * Concurrent misses of the same id may therefore both reach the loader; only the last one to start is cached.
+     */
+    public Optional<CustomerOutputDto> get(Long id, Function<Long, Optional<CustomerOutputDto>> loader) {
+        CustomerOutputDto cached = quotes.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        if (missing.getIfPresent(id) != null) {
+            return Optional.empty();
+        }
+        Object load = new Object();
+        loads.put(id, load);
+        Optional<CustomerOutputDto> loaded;
+        try {
+            loaded = loader.apply(id);
+        } catch (RuntimeException e) {
+            loads.remove(id, load);
+            throw e;
+        }
+        if (loaded.isPresent()) {
+            quotes.asMap().compute(id, (key, current) -> loads.remove(id, load) ? loaded.get() : current);
+        } else {
+            missing.asMap().compute(id, (key, current) -> loads.remove(id, load) ? Boolean.TRUE : current);
+        }
+        return loaded;
+    }
+
+    public void put(CustomerOutputDto quote) {
+        loads.remove(quote.id());
+        quotes.put(quote.id(), quote);
+        missing.invalidate(quote.id());
+    }
+
+    public void invalidate(Long id) {
+        if (id == null) {
+            return;
+        }
+        loads.remove(id);
+        quotes.invalidate(id);
+        missing.invalidate(id);
+    }
+}
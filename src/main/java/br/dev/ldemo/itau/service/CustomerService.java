@@ -2,21 +2,65 @@ package br.dev.ldemo.itau.service;
 
 import br.dev.ldemo.itau.dto.CustomerInputDto;
 import br.dev.ldemo.itau.dto.CustomerOutputDto;
+import br.dev.ldemo.itau.dto.CustomerPatchDto;
+import br.dev.ldemo.itau.dto.CustomerSearchCriteria;
 import br.dev.ldemo.itau.dto.CustomerWrapper;
+import br.dev.ldemo.itau.dto.QuoteBatchItemDto;
+import br.dev.ldemo.itau.dto.QuoteExportRange;
+import br.dev.ldemo.itau.dto.QuoteExportRow;
 import jakarta.validation.constraints.NotNull;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface CustomerService {
 
     CustomerOutputDto calculateInsurance(CustomerWrapper customerWrapper);
 
-    List<CustomerOutputDto> getAllInsurance();
+    /**
+     * Same as {@link #calculateInsurance(CustomerWrapper)}, but a repeated {@code idempotencyKey} returns the
+     * quote stored by the first call instead of saving a new one.
+     */
+    CustomerOutputDto calculateInsurance(CustomerWrapper customerWrapper, String idempotencyKey);
+
+    /**
+     * Prices and saves every customer produced by {@code inputs}, publishing one result per item.
+     * Items are persisted in chunks; an invalid item is reported as an error without failing the batch.
+     */
+    void calculateInsuranceBatch(Iterator<CustomerInputDto> inputs, Consumer<QuoteBatchItemDto> results);
+
+    /**
+     * Returns up to {@code limit} quotes with id greater than {@code after}, in id order.
+     */
+    List<CustomerOutputDto> getInsurancePage(long after, int limit);
+
+    /**
+     * Returns up to {@code limit} quotes matching {@code criteria} with id greater than {@code after}, in id order.
+     */
+    List<CustomerOutputDto> searchInsurance(CustomerSearchCriteria criteria, long after, int limit);
+
+    /**
+     * Publishes every quote, in id order, reading them through a database cursor.
+     */
+    void streamAllInsurance(Consumer<CustomerOutputDto> consumer);
+
+    /**
+     * Publishes the quotes in {@code range}, in id order, reading them through a database cursor.
+     */
+    void exportQuotes(QuoteExportRange range, Consumer<QuoteExportRow> consumer);
 
     CustomerOutputDto getCustomerById(@NotNull Long id);
 
+    /**
+     * Replaces the customer data and reprices it with a single update statement.
+     */
     CustomerOutputDto update(@NotNull Long id, CustomerInputDto dto);
 
+    /**
+     * Changes only the non-null fields of {@code dto}, repricing when the location or vehicle value changes.
+     */
+    void patch(@NotNull Long id, CustomerPatchDto dto);
+
     void delete(@NotNull Long id);
 }
-
@@ -2,15 +2,34 @@ package br.dev.ldemo.itau.service;
 
 import br.dev.ldemo.itau.dto.CustomerInputDto;
 import br.dev.ldemo.itau.dto.CustomerOutputDto;
+import br.dev.ldemo.itau.dto.CustomerPatchDto;
+import br.dev.ldemo.itau.dto.CustomerSearchCriteria;
 import br.dev.ldemo.itau.dto.CustomerWrapper;
+import br.dev.ldemo.itau.dto.QuoteBatchItemDto;
+import br.dev.ldemo.itau.dto.QuoteExportRange;
+import br.dev.ldemo.itau.dto.QuoteExportRow;
 import br.dev.ldemo.itau.entity.Customer;
+import br.dev.ldemo.itau.exception.IdempotencyKeyReusedException;
 import br.dev.ldemo.itau.exception.ResourceNotFoundException;
+import br.dev.ldemo.itau.logging.LogMarkers;
 import br.dev.ldemo.itau.repository.CustomerRespository;
+import br.dev.ldemo.itau.repository.CustomerSpecifications;
+import br.dev.ldemo.itau.service.writebehind.QuoteWriteBehind;
 import jakarta.validation.constraints.NotNull;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Service responsible for business logic related to customers.
@@ -20,62 +39,272 @@ import java.util.List;
 @Service
 public class CustomerServiceImpl implements CustomerService {
 
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private static final int MAX_PATCH_ATTEMPTS = 3;
+
     private final CustomerRespository repository;
-    private final InsuranceCalculatorServiceImpl insuranceCalculatorServiceImpl;
+    private final QuotePricing quotePricing;
+    private final CustomerQuoteCache customerQuoteCache;
+    private final QuoteWriteBehind quoteWriteBehind;
+    private final QuoteMetrics quoteMetrics;
+
+    @Value("${app.quote.batch.chunk-size:500}")
+    private int batchChunkSize = 500;
 
-    public CustomerServiceImpl(CustomerRespository repository, InsuranceCalculatorServiceImpl insuranceCalculatorServiceImpl) {
+    @Value("${app.datasource.replicas.enabled:false}")
+    private boolean replicasEnabled = false;
+
+    public CustomerServiceImpl(CustomerRespository repository, QuotePricing quotePricing,
+                               CustomerQuoteCache customerQuoteCache, QuoteWriteBehind quoteWriteBehind,
+                               QuoteMetrics quoteMetrics) {
         this.repository = repository;
-        this.insuranceCalculatorServiceImpl = insuranceCalculatorServiceImpl;
+        this.quotePricing = quotePricing;
+        this.customerQuoteCache = customerQuoteCache;
+        this.quoteWriteBehind = quoteWriteBehind;
+        this.quoteMetrics = quoteMetrics;
     }
 
 
     public CustomerOutputDto calculateInsurance(CustomerWrapper customerWrapper) {
-        CustomerInputDto customerInputDto = customerWrapper.getCustomer();
-        double valueInsurance = insuranceCalculatorServiceImpl.calculate(customerInputDto.vehicle_value(), customerInputDto.location());
-        save(customerInputDto);
-        return new CustomerOutputDto(null, customerInputDto.name(), customerInputDto.location(), valueInsurance);
+        return calculateInsurance(customerWrapper, null);
+    }
+
+    public CustomerOutputDto calculateInsurance(CustomerWrapper customerWrapper, String idempotencyKey) {
+        String requestHash = null;
+        if (idempotencyKey != null) {
+            if (idempotencyKey.isBlank() || idempotencyKey.length() > Customer.IDEMPOTENCY_KEY_LENGTH) {
+                throw new IllegalArgumentException("Invalid idempotency key");
+            }
+            requestHash = customerWrapper.getCustomer().requestHash();
+            Optional<Customer> existing = repository.findByIdempotencyKey(idempotencyKey);
+            if (existing.isPresent()) {
+                log.info("Returning stored quote for idempotency key {}", idempotencyKey);
+                return replay(existing.get(), requestHash);
+            }
+        }
+        Customer customer = quotePricing.price(customerWrapper.getCustomer());
+        customer.setIdempotencyKey(idempotencyKey);
+        customer.setRequestHash(requestHash);
+        Customer saved;
+        try {
+            saved = save(customer);
+        } catch (DataIntegrityViolationException e) {
+            if (idempotencyKey == null) {
+                throw e;
+            }
+            // a concurrent retry with the same key inserted first
+            String hash = requestHash;
+            return repository.findByIdempotencyKey(idempotencyKey)
+                    .map(stored -> replay(stored, hash))
+                    .orElseThrow(() -> e);
+        }
+        return saved == customer ? customer.toOutputDto() : replay(saved, requestHash);
+    }
+
+    /**
+     * The stored quote of a repeated idempotency key, provided it was created by the same request.
+     */
+    private static CustomerOutputDto replay(Customer stored, String requestHash) {
+        // quotes saved before request hashes were stored have none and are returned as before
+        if (stored.getRequestHash() != null && !stored.getRequestHash().equals(requestHash)) {
+            throw new IdempotencyKeyReusedException("Idempotency key was already used with a different request");
+        }
+        return stored.toOutputDto();
+    }
+
+    public void calculateInsuranceBatch(Iterator<CustomerInputDto> inputs, Consumer<QuoteBatchItemDto> results) {
+        List<PricedQuote> pending = new ArrayList<>(batchChunkSize);
+        long index = 0;
+        while (true) {
+            try {
+                if (!inputs.hasNext()) {
+                    break;
+                }
+            } catch (RuntimeException e) {
+                // the input itself is broken (e.g. truncated body): nothing after this point can be read
+                results.accept(QuoteBatchItemDto.failure(index, "Malformed request body: " + e.getMessage()));
+                break;
+            }
+
+            long itemIndex = index++;
+            CustomerInputDto customerInputDto;
+            try {
+                customerInputDto = inputs.next();
+            } catch (RuntimeException e) {
+                results.accept(QuoteBatchItemDto.failure(itemIndex, "Malformed item: " + e.getMessage()));
+                continue;
+            }
+
+            PricedQuote quote = price(itemIndex, customerInputDto, results);
+            if (quote != null) {
+                pending.add(quote);
+                if (pending.size() >= batchChunkSize) {
+                    saveBatch(pending, results);
+                    pending.clear();
+                }
+            }
+        }
+        if (!pending.isEmpty()) {
+            saveBatch(pending, results);
+        }
+        log.info("Batch quote finished with {} items", index);
+    }
+
+    private PricedQuote price(long index, CustomerInputDto customerInputDto, Consumer<QuoteBatchItemDto> results) {
+        QuotePricing.Priced priced = quotePricing.validateAndPrice(customerInputDto);
+        if (priced.error() != null) {
+            results.accept(QuoteBatchItemDto.failure(index, priced.error()));
+            return null;
+        }
+        return new PricedQuote(index, priced.customer());
+    }
+
+    private void saveBatch(List<PricedQuote> quotes, Consumer<QuoteBatchItemDto> results) {
+        long start = System.nanoTime();
+        try {
+            repository.saveAll(quotes.stream().map(PricedQuote::customer).toList());
+            quoteMetrics.recordBatchSave(System.nanoTime() - start);
+        } catch (RuntimeException e) {
+            log.error("Failed to save batch of {} customers", quotes.size(), e);
+            quotes.forEach(quote -> results.accept(QuoteBatchItemDto.failure(quote.index(), "Failed to save quote")));
+            return;
+        }
+        quotes.forEach(quote -> {
+            customerQuoteCache.invalidate(quote.customer().getId());
+            results.accept(QuoteBatchItemDto.success(quote.index(), quote.customer().toOutputDto()));
+        });
+        log.debug("Saved batch of {} customers", quotes.size());
     }
 
-    private void save(CustomerInputDto customerInputDto) {
-        Customer customer = customerInputDto.toEntity();
+    /**
+     * Saves the customer and returns the quote stored for it, which with write-behind is the quote already
+     * queued when a retry repeats its idempotency key.
+     */
+    private Customer save(Customer customer) {
+        if (quoteWriteBehind.isEnabled()) {
+            // saved later by the background writer, so the quote has no id yet
+            Customer accepted = quoteWriteBehind.submit(customer);
+            log.info(LogMarkers.HOT_PATH, "Customer quote queued");
+            return accepted;
+        }
+        long start = System.nanoTime();
         repository.save(customer);
-        log.info("Customer saved with name {}", customer.getName());
+        quoteMetrics.recordSave(System.nanoTime() - start);
+        // the id may have been looked up (and cached as missing) before it existed
+        customerQuoteCache.invalidate(customer.getId());
+        log.info(LogMarkers.HOT_PATH, "Customer saved with id {}", customer.getId());
+        return customer;
+    }
+
+    @Transactional(readOnly = true)
+    public List<CustomerOutputDto> getInsurancePage(long after, int limit) {
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        return repository.findQuotesAfter(after, Limit.of(pageSize));
+    }
+
+    @Transactional(readOnly = true)
+    public List<CustomerOutputDto> searchInsurance(CustomerSearchCriteria criteria, long after, int limit) {
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        return repository.searchQuotes(CustomerSpecifications.matching(criteria, after), pageSize);
     }
 
-    public List<CustomerOutputDto> getAllInsurance() {
-        return repository.findAll().stream()
-                .map(customer -> new CustomerOutputDto(customer.getId(), customer.getName(), customer.getLocation(), customer.getVehicle_value()))
-                .toList();
+    @Transactional(readOnly = true)
+    public void streamAllInsurance(Consumer<CustomerOutputDto> consumer) {
+        try (Stream<CustomerOutputDto> quotes = repository.streamAllQuotes()) {
+            // DTO rows are not managed, so the persistence context (and the heap) stays flat regardless of table size
+            quotes.forEach(consumer);
+        }
     }
 
+    @Transactional(readOnly = true)
+    public void exportQuotes(QuoteExportRange range, Consumer<QuoteExportRow> consumer) {
+        try (Stream<QuoteExportRow> rows = repository.streamForExport(
+                range.after(), range.to(), range.calculatedFrom(), range.calculatedBefore())) {
+            rows.forEach(consumer);
+        }
+    }
+
+    // no transaction here: cache hits must not take a connection; the repository query opens its own on a miss
     public CustomerOutputDto getCustomerById(Long id) {
-        return repository.findById(id)
-                .map(customer -> new CustomerOutputDto(customer.getId(), customer.getName(), customer.getLocation(), customer.getVehicle_value()))
+        return customerQuoteCache.get(id, this::findQuote)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found"));
     }
 
+    /**
+     * A quote just created may not have reached the replica yet, so a miss there is confirmed on the primary
+     * before the cache remembers the id as missing.
+     */
+    private Optional<CustomerOutputDto> findQuote(Long id) {
+        Optional<CustomerOutputDto> quote = repository.findQuoteById(id);
+        return quote.isPresent() || !replicasEnabled ? quote : repository.findQuoteOnPrimaryById(id);
+    }
+
     public CustomerOutputDto update(@NotNull Long id, CustomerInputDto dto) {
-        Customer customer = repository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Customer not found"));
+        Customer customer = quotePricing.price(dto);
+        if (updateQuote(id, customer, null, null) == 0) {
+            throw new ResourceNotFoundException("Customer not found");
+        }
+        customer.setId(id);
 
-        customer.setName(dto.name());
-        customer.setDocument(dto.document());
-        customer.setBirthDate(dto.birthDate());
-        customer.setLocation(dto.location());
-        customer.setVehicle_value(dto.vehicle_value());
+        CustomerOutputDto quote = customer.toOutputDto();
+        customerQuoteCache.put(quote);
+        return quote;
+    }
 
-        customer = repository.save(customer);
+    /**
+     * When the patch changes only one of the pricing inputs, the other is read and the update is made
+     * conditional on it; if it changed meanwhile the quote is priced again from the new value.
+     */
+    public void patch(@NotNull Long id, CustomerPatchDto dto) {
+        for (int attempt = 1; ; attempt++) {
+            Customer changes = dto.toEntity();
+            CustomerRespository.PricingInputs current = null;
+            if (dto.changesPricing()) {
+                if (changes.getVehicle_value() == null || changes.getLocation() == null) {
+                    // the rate depends on both, so the one not being changed is read from the database
+                    current = repository.findPricingInputsById(id)
+                            .orElseThrow(() -> new ResourceNotFoundException("Customer not found"));
+                    if (changes.getVehicle_value() == null) {
+                        changes.setVehicle_value(current.getVehicle_value());
+                    }
+                    if (changes.getLocation() == null) {
+                        changes.setLocation(current.getLocation());
+                    }
+                }
+                quotePricing.applyPricing(changes);
+            }
+            int updated = current == null ? updateQuote(id, changes, null, null)
+                    : updateQuote(id, changes,
+                            dto.vehicle_value() == null ? current.getVehicle_value() : null,
+                            dto.location() == null ? current.getLocation() : null);
+            if (updated > 0) {
+                customerQuoteCache.invalidate(id);
+                return;
+            }
+            if (current == null) {
+                throw new ResourceNotFoundException("Customer not found");
+            }
+            if (attempt == MAX_PATCH_ATTEMPTS) {
+                throw new OptimisticLockingFailureException("Customer was changed concurrently, try again");
+            }
+            log.debug("Pricing inputs of customer {} changed while patching, retrying", id);
+        }
+    }
 
-        return new CustomerOutputDto(customer.getId(), customer.getName(), customer.getLocation(), customer.getVehicle_value());
+    public void delete(Long id) {
+        if (repository.deleteQuoteById(id) == 0) {
+            throw new ResourceNotFoundException("Customer not found");
+        }
+        customerQuoteCache.invalidate(id);
+    }
 
+    private int updateQuote(Long id, Customer changes, Double expectedVehicleValue, String expectedLocation) {
+        return repository.updateQuote(id, changes.getName(), changes.getDocument(), changes.getBirthDate(),
+                changes.getLocation(), changes.getVehicle_value(), changes.getRate(), changes.getPremium(),
+                changes.getCalculatedAt(), expectedVehicleValue, expectedLocation);
     }
 
-    public void delete(Long id) {
-        repository.findById(id).map(
-                customer -> {
-                    repository.delete(customer);
-                    return customer;
-                }
-        ).orElseThrow(() -> new ResourceNotFoundException("Customer not found"));
+    private record PricedQuote(long index, Customer customer) {
     }
 }
@@ -1,5 +1,25 @@
 package br.dev.ldemo.itau.service;
 
+import br.dev.ldemo.itau.service.pricing.Location;
+import br.dev.ldemo.itau.service.pricing.TieredRate;
+
 public interface InsuranceCalculatorService {
     public double calculate(Double vehicleValue, String location);
+
+    /**
+     * Rate applied over the vehicle value, so that {@code calculate == vehicleValue * rate}.
+     */
+    public double rate(Double vehicleValue, String location);
+
+    /**
+     * Hot path overload: no boxing, no location parsing and no logging.
+     */
+    public double calculate(double vehicleValue, Location location);
+
+    public double rate(double vehicleValue, Location location);
+
+    /**
+     * Rate and pricing tier of the vehicle value, both taken from the same rule table.
+     */
+    public TieredRate tieredRate(Double vehicleValue, Location location);
 }
@@ -1,5 +1,8 @@
 package br.dev.ldemo.itau.service;
 
+import br.dev.ldemo.itau.service.pricing.Location;
+import br.dev.ldemo.itau.service.pricing.PricingRuleEngine;
+import br.dev.ldemo.itau.service.pricing.TieredRate;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -7,22 +10,41 @@ import org.springframework.stereotype.Service;
 @Service
 public class InsuranceCalculatorServiceImpl implements InsuranceCalculatorService {
 
+    private final PricingRuleEngine pricingRuleEngine;
+
+    public InsuranceCalculatorServiceImpl(PricingRuleEngine pricingRuleEngine) {
+        this.pricingRuleEngine = pricingRuleEngine;
+    }
+
     public double calculate(Double vehicleValue, String location) {
-        log.info("Calculating insurance for value {} and location {}", vehicleValue, location);
+        double rate = rate(vehicleValue, location);
+        return vehicleValue * rate;
+    }
+
+    public double rate(Double vehicleValue, String location) {
+        log.debug("Calculating insurance for value {} and location {}", vehicleValue, location);
+
+        if( vehicleValue == null || location == null){
+            throw new IllegalArgumentException("Invalid vehicle value or location");
+        }
+        return rate(vehicleValue.doubleValue(), Location.from(location));
+    }
+
+    public double calculate(double vehicleValue, Location location) {
+        return vehicleValue * rate(vehicleValue, location);
+    }
 
-        if( vehicleValue == null || vehicleValue <= 0.0 || location == null){
+    public double rate(double vehicleValue, Location location) {
+        if (!(vehicleValue > 0.0) || location == null) {
             throw new IllegalArgumentException("Invalid vehicle value or location");
         }
-        double price = vehicleValue;
-        double rate = 0;
-
-        if (price <= 70000 ){
-            rate =  "SP".equalsIgnoreCase(location)? 0.05 : 0.04;
-        } else if (price <= 100000) {
-            rate = 0.055;
-        } else {
-            rate = 0.06;
+        return pricingRuleEngine.current().rate(vehicleValue, location);
+    }
+
+    public TieredRate tieredRate(Double vehicleValue, Location location) {
+        if (vehicleValue == null || !(vehicleValue > 0.0) || location == null) {
+            throw new IllegalArgumentException("Invalid vehicle value or location");
         }
-        return price * rate;
+        return pricingRuleEngine.current().lookup(vehicleValue, location);
     }
 }
@@ -0,0 +1,92 @@
+package br.dev.ldemo.itau.service;
+
+import br.dev.ldemo.itau.service.pricing.Location;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters of the quote hot path. Every tag comes from a closed set (location enum, tier index capped at
+ * {@link #MAX_TIERS}, save mode), so the number of series is bounded. Meters are registered up front or
+ * cached in arrays, so recording does not allocate or look up the registry.
+ */
+@Component
+public class QuoteMetrics {
+
+    static final int MAX_TIERS = 8;
+
+    private final MeterRegistry meterRegistry;
+    private final Timer pricingTimer;
+    private final Timer saveTimer;
+    private final Timer batchSaveTimer;
+    private final Counter validationFailures;
+    private final Counter notFound;
+    private final Counter[][] pricedByLocationAndTier = new Counter[Location.values().length][MAX_TIERS];
+
+    public QuoteMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.pricingTimer = Timer.builder("quote.pricing")
+                .description("Time to price a quote")
+                .publishPercentileHistogram()
+                // pricing takes nanoseconds; the default histogram starts at 1ms
+                .minimumExpectedValue(Duration.ofNanos(100))
+                .maximumExpectedValue(Duration.ofMillis(10))
+                .register(meterRegistry);
+        this.saveTimer = saveTimer(meterRegistry, "single");
+        this.batchSaveTimer = saveTimer(meterRegistry, "batch");
+        this.validationFailures = Counter.builder("quote.validation.failures")
+                .description("Quote requests rejected as invalid")
+                .register(meterRegistry);
+        this.notFound = Counter.builder("quote.not.found")
+                .description("Lookups of quotes that do not exist")
+                .register(meterRegistry);
+    }
+
+    private static Timer saveTimer(MeterRegistry meterRegistry, String mode) {
+        return Timer.builder("quote.save")
+                .description("Time to save quotes in the database")
+                .tag("mode", mode)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a priced quote. The tier is the one the rate was taken from, so the counter agrees with the
+     * price even while the rule table is being reloaded.
+     */
+    public void recordPricing(Location location, int pricingTier, long nanos) {
+        pricingTimer.record(nanos, TimeUnit.NANOSECONDS);
+        int tier = Math.min(pricingTier, MAX_TIERS - 1);
+        Counter counter = pricedByLocationAndTier[location.ordinal()][tier];
+        if (counter == null) {
+            // racing threads get the same counter back from the registry
+            counter = Counter.builder("quote.priced")
+                    .description("Quotes priced per location and pricing tier")
+                    .tag("location", location.name())
+                    .tag("tier", Integer.toString(tier))
+                    .register(meterRegistry);
+            pricedByLocationAndTier[location.ordinal()][tier] = counter;
+        }
+        counter.increment();
+    }
+
+    public void recordSave(long nanos) {
+        saveTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordBatchSave(long nanos) {
+        batchSaveTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void validationFailed() {
+        validationFailures.increment();
+    }
+
+    public void notFound() {
+        notFound.increment();
+    }
+}
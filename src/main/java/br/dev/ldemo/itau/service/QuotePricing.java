@@ -0,0 +1,91 @@
+package br.dev.ldemo.itau.service;
+
+import br.dev.ldemo.itau.dto.CustomerInputDto;
+import br.dev.ldemo.itau.entity.Customer;
+import br.dev.ldemo.itau.service.pricing.Location;
+import br.dev.ldemo.itau.service.pricing.TieredRate;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Validation and pricing of new quotes, shared by every path that creates them (single, batch, import),
+ * so they reject and price inputs alike and all record the quote meters.
+ */
+@Component
+public class QuotePricing {
+
+    private final InsuranceCalculatorServiceImpl insuranceCalculatorServiceImpl;
+    private final Validator validator;
+    private final QuoteMetrics quoteMetrics;
+
+    public QuotePricing(InsuranceCalculatorServiceImpl insuranceCalculatorServiceImpl, Validator validator,
+                        QuoteMetrics quoteMetrics) {
+        this.insuranceCalculatorServiceImpl = insuranceCalculatorServiceImpl;
+        this.validator = validator;
+        this.quoteMetrics = quoteMetrics;
+    }
+
+    /**
+     * Validates and prices an input that was not validated yet (batch items, import rows). Rejections are
+     * counted as validation failures and returned with the message for that item.
+     */
+    public Priced validateAndPrice(CustomerInputDto input) {
+        if (input == null) {
+            quoteMetrics.validationFailed();
+            return Priced.failure("Customer is required");
+        }
+        Set<ConstraintViolation<CustomerInputDto>> violations = validator.validate(input);
+        if (!violations.isEmpty()) {
+            quoteMetrics.validationFailed();
+            return Priced.failure(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        try {
+            return new Priced(price(input), null);
+        } catch (IllegalArgumentException e) {
+            quoteMetrics.validationFailed();
+            return Priced.failure(e.getMessage());
+        }
+    }
+
+    /**
+     * Builds the customer with the premium, rate and calculation time that are persisted with it.
+     *
+     * @throws IllegalArgumentException if the vehicle value or location cannot be priced
+     */
+    public Customer price(CustomerInputDto input) {
+        Customer customer = input.toEntity();
+        applyPricing(customer);
+        return customer;
+    }
+
+    /**
+     * Sets rate, premium and calculation time from the customer's vehicle value and location.
+     */
+    public void applyPricing(Customer customer) {
+        long start = System.nanoTime();
+        Location location = Location.from(customer.getLocation());
+        TieredRate rate = insuranceCalculatorServiceImpl.tieredRate(customer.getVehicle_value(), location);
+        quoteMetrics.recordPricing(location, rate.tier(), System.nanoTime() - start);
+        customer.setRate(rate.rate());
+        customer.setPremium(customer.getVehicle_value() * rate.rate());
+        customer.setCalculatedAt(Instant.now());
+    }
+
+    /**
+     * A priced customer, or the reason the input was rejected.
+     */
+    public record Priced(Customer customer, String error) {
+
+        private static Priced failure(String error) {
+            return new Priced(null, error);
+        }
+    }
+}
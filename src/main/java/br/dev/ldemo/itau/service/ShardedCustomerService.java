@@ -0,0 +1,22 @@
+package br.dev.ldemo.itau.service;
+
+import br.dev.ldemo.itau.dto.CustomerOutputDto;
+import br.dev.ldemo.itau.dto.CustomerWrapper;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/**
+ * Quotes kept in the sharded storage ({@code app.sharding.enabled}), independent of the JPA repository.
+ */
+public interface ShardedCustomerService {
+
+    CustomerOutputDto calculateInsurance(CustomerWrapper customerWrapper);
+
+    CustomerOutputDto getCustomerById(@NotNull Long id);
+
+    /**
+     * Returns up to {@code limit} quotes with id greater than {@code after}, in id order, across all shards.
+     */
+    List<CustomerOutputDto> getInsurancePage(long after, int limit);
+}
@@ -0,0 +1,49 @@
+package br.dev.ldemo.itau.service;
+
+import br.dev.ldemo.itau.dto.CustomerOutputDto;
+import br.dev.ldemo.itau.dto.CustomerWrapper;
+import br.dev.ldemo.itau.entity.Customer;
+import br.dev.ldemo.itau.exception.ResourceNotFoundException;
+import br.dev.ldemo.itau.logging.LogMarkers;
+import br.dev.ldemo.itau.sharding.ShardedCustomerStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+public class ShardedCustomerServiceImpl implements ShardedCustomerService {
+
+    private final ShardedCustomerStore store;
+    private final QuotePricing quotePricing;
+    private final QuoteMetrics quoteMetrics;
+
+    public ShardedCustomerServiceImpl(ShardedCustomerStore store, QuotePricing quotePricing, QuoteMetrics quoteMetrics) {
+        this.store = store;
+        this.quotePricing = quotePricing;
+        this.quoteMetrics = quoteMetrics;
+    }
+
+    public CustomerOutputDto calculateInsurance(CustomerWrapper customerWrapper) {
+        Customer customer = quotePricing.price(customerWrapper.getCustomer());
+
+        long start = System.nanoTime();
+        store.save(customer);
+        quoteMetrics.recordSave(System.nanoTime() - start);
+        log.info(LogMarkers.HOT_PATH, "Customer saved with id {} in shard {}", customer.getId(),
+                store.shardFor(customer.getDocument()));
+        return customer.toOutputDto();
+    }
+
+    public CustomerOutputDto getCustomerById(Long id) {
+        return store.findQuoteById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Customer not found"));
+    }
+
+    public List<CustomerOutputDto> getInsurancePage(long after, int limit) {
+        return store.findQuotesAfter(after, Math.clamp(limit, 1, CustomerServiceImpl.MAX_PAGE_SIZE));
+    }
+}
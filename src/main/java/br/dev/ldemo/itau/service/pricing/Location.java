@@ -0,0 +1,48 @@
+package br.dev.ldemo.itau.service.pricing;
+
+/**
+ * Brazilian states (UF) used to index the pricing tables. Any other location is {@link #OTHER}.
+ */
+public enum Location {
+    AC, AL, AP, AM, BA, CE, DF, ES, GO, MA, MT, MS, MG, PA, PB, PR, PE, PI, RJ, RN, RS, RO, RR, SC, SP, SE, TO,
+    OTHER;
+
+    private static final int LETTERS = 26;
+    private static final Location[] BY_CODE = new Location[LETTERS * LETTERS];
+
+    static {
+        for (Location location : values()) {
+            if (location != OTHER) {
+                BY_CODE[index(location.name().charAt(0), location.name().charAt(1))] = location;
+            }
+        }
+    }
+
+    /**
+     * Case-insensitive lookup of a UF code that does not allocate. Unknown codes map to {@link #OTHER}.
+     */
+    public static Location from(String code) {
+        if (code == null || code.length() != 2) {
+            return OTHER;
+        }
+        int index = index(code.charAt(0), code.charAt(1));
+        Location location = index < 0 ? null : BY_CODE[index];
+        return location == null ? OTHER : location;
+    }
+
+    private static int index(char first, char second) {
+        int a = letter(first);
+        int b = letter(second);
+        return a < 0 || b < 0 ? -1 : a * LETTERS + b;
+    }
+
+    private static int letter(char c) {
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A';
+        }
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a';
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,53 @@
+package br.dev.ldemo.itau.service.pricing;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pricing rules as configured under {@code app.pricing}. Each band applies its rate to vehicle values
+ * up to {@code upTo} (inclusive); the last band has no {@code upTo}. Locations without their own bands
+ * use the default {@code bands}. The default bands are the original rules; location bands start empty,
+ * so a location removed from the configuration falls back to the default bands (the original SP bands
+ * live in {@code application.yml}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.pricing")
+public class PricingProperties {
+
+    private String version = "1";
+
+    /**
+     * JSON file with a new rule version ({@code version}, {@code bands}, {@code locations}), loaded at
+     * startup and by the reload of the pricing actuator endpoint.
+     */
+    private Path rulesFile;
+
+    private List<Band> bands = new ArrayList<>(List.of(
+            Band.of(70000.0, 0.04),
+            Band.of(100000.0, 0.055),
+            Band.of(null, 0.06)));
+
+    private Map<String, List<Band>> locations = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Band {
+        private Double upTo;
+        private double rate;
+
+        public static Band of(Double upTo, double rate) {
+            Band band = new Band();
+            band.setUpTo(upTo);
+            band.setRate(rate);
+            return band;
+        }
+    }
+}
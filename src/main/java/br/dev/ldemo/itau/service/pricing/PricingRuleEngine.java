@@ -0,0 +1,38 @@
+package br.dev.ldemo.itau.service.pricing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the active {@link PricingRuleTable}. A new rule version is compiled off to the side and
+ * published with a single volatile write, so pricing never sees a partially loaded table.
+ */
+@Slf4j
+@Component
+public class PricingRuleEngine {
+
+    private volatile PricingRuleTable current;
+
+    public PricingRuleEngine(PricingProperties properties) {
+        this.current = PricingRuleTable.compile(properties);
+        log.info("Pricing rules version {} loaded", current.getVersion());
+    }
+
+    public PricingRuleTable current() {
+        return current;
+    }
+
+    /**
+     * Compiles and activates a new rule version. Invalid rules are rejected and the active table is kept.
+     */
+    public PricingRuleTable reload(PricingProperties properties) {
+        return publish(PricingRuleTable.compile(properties));
+    }
+
+    public PricingRuleTable publish(PricingRuleTable table) {
+        PricingRuleTable previous = current;
+        current = table;
+        log.info("Pricing rules version {} replaced by version {}", previous.getVersion(), table.getVersion());
+        return table;
+    }
+}
@@ -0,0 +1,124 @@
+package br.dev.ldemo.itau.service.pricing;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, compiled form of {@link PricingProperties}. Bands are kept as sorted arrays of upper bounds
+ * indexed by {@link Location#ordinal()}, so a lookup is a binary search with no allocation.
+ */
+public final class PricingRuleTable {
+
+    private final String version;
+    private final double[][] upperBounds;
+    private final double[][] rates;
+
+    private PricingRuleTable(String version, double[][] upperBounds, double[][] rates) {
+        this.version = version;
+        this.upperBounds = upperBounds;
+        this.rates = rates;
+    }
+
+    public static PricingRuleTable compile(PricingProperties properties) {
+        Location[] locations = Location.values();
+        double[][] upperBounds = new double[locations.length][];
+        double[][] rates = new double[locations.length][];
+
+        compileBands("default", properties.getBands(), upperBounds, rates, Location.OTHER.ordinal());
+        for (Location location : locations) {
+            upperBounds[location.ordinal()] = upperBounds[Location.OTHER.ordinal()];
+            rates[location.ordinal()] = rates[Location.OTHER.ordinal()];
+        }
+        for (Map.Entry<String, List<PricingProperties.Band>> entry : properties.getLocations().entrySet()) {
+            Location location = Location.from(entry.getKey());
+            if (location == Location.OTHER) {
+                throw new IllegalArgumentException("Unknown pricing location " + entry.getKey());
+            }
+            compileBands(entry.getKey(), entry.getValue(), upperBounds, rates, location.ordinal());
+        }
+        return new PricingRuleTable(properties.getVersion(), upperBounds, rates);
+    }
+
+    private static void compileBands(String name, List<PricingProperties.Band> bands,
+                                     double[][] upperBounds, double[][] rates, int index) {
+        if (bands == null || bands.isEmpty()) {
+            throw new IllegalArgumentException("Pricing bands for " + name + " are empty");
+        }
+        double[] bounds = new double[bands.size()];
+        double[] bandRates = new double[bands.size()];
+        for (int i = 0; i < bands.size(); i++) {
+            PricingProperties.Band band = bands.get(i);
+            boolean last = i == bands.size() - 1;
+            if (last != (band.getUpTo() == null)) {
+                throw new IllegalArgumentException("Only the last pricing band for " + name + " must be open-ended");
+            }
+            bounds[i] = last ? Double.POSITIVE_INFINITY : band.getUpTo();
+            if (i > 0 && bounds[i] <= bounds[i - 1]) {
+                throw new IllegalArgumentException("Pricing bands for " + name + " must be in ascending order");
+            }
+            if (!(band.getRate() >= 0.0)) {
+                throw new IllegalArgumentException("Invalid pricing rate for " + name + ": " + band.getRate());
+            }
+            bandRates[i] = band.getRate();
+        }
+        upperBounds[index] = bounds;
+        rates[index] = bandRates;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * Rate of the band containing {@code vehicleValue}. The value must be a number (not NaN).
+     */
+    public double rate(double vehicleValue, Location location) {
+        int index = location.ordinal();
+        return rates[index][band(upperBounds[index], vehicleValue)];
+    }
+
+    /**
+     * Rate and band of {@code vehicleValue} from a single band search, for callers that need both.
+     */
+    public TieredRate lookup(double vehicleValue, Location location) {
+        int index = location.ordinal();
+        int tier = band(upperBounds[index], vehicleValue);
+        return new TieredRate(rates[index][tier], tier);
+    }
+
+    /**
+     * Zero-based index of the band (pricing tier) containing {@code vehicleValue}.
+     */
+    public int tier(double vehicleValue, Location location) {
+        return band(upperBounds[location.ordinal()], vehicleValue);
+    }
+
+    /**
+     * Rate of the band {@code tier} returned by {@link #tier(double, Location)}.
+     */
+    public double rateOfTier(int tier, Location location) {
+        return rates[location.ordinal()][tier];
+    }
+
+    /**
+     * Exclusive lower bound of the band {@code tier}; {@code null} for the first band.
+     */
+    public Double lowerBound(int tier, Location location) {
+        return tier == 0 ? null : upperBounds[location.ordinal()][tier - 1];
+    }
+
+    /**
+     * Inclusive upper bound of the band {@code tier}; {@code null} for the last, open-ended band.
+     */
+    public Double upperBound(int tier, Location location) {
+        double bound = upperBounds[location.ordinal()][tier];
+        return bound == Double.POSITIVE_INFINITY ? null : bound;
+    }
+
+    private static int band(double[] bounds, double vehicleValue) {
+        int band = Arrays.binarySearch(bounds, vehicleValue);
+        // upper bounds are inclusive: an exact match belongs to the band it closes
+        return band >= 0 ? band : -band - 1;
+    }
+}
@@ -0,0 +1,69 @@
+package br.dev.ldemo.itau.service.pricing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Actuator endpoint ({@code pricing}) showing the active rule version and loading a new one from
+ * {@code app.pricing.rules-file} without a restart. It is exposed over JMX only, so the reload is not
+ * open to unauthenticated HTTP clients.
+ */
+@Component
+@Endpoint(id = "pricing")
+public class PricingRulesEndpoint implements InitializingBean {
+
+    private final PricingRuleEngine engine;
+    private final PricingProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public PricingRulesEndpoint(PricingRuleEngine engine, PricingProperties properties, ObjectMapper objectMapper) {
+        this.engine = engine;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Starts with the rules file when it exists, so a restart keeps the last reloaded version.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        Path file = properties.getRulesFile();
+        if (file != null && Files.exists(file)) {
+            engine.reload(read(file));
+        }
+    }
+
+    @ReadOperation
+    public PricingRulesInfo rules() {
+        return new PricingRulesInfo(engine.current().getVersion());
+    }
+
+    @WriteOperation
+    public PricingRulesInfo reload() {
+        Path file = properties.getRulesFile();
+        if (file == null) {
+            throw new IllegalStateException("app.pricing.rules-file is not configured");
+        }
+        return new PricingRulesInfo(engine.reload(read(file)).getVersion());
+    }
+
+    private PricingProperties read(Path file) {
+        try {
+            return objectMapper.readValue(file.toFile(), PricingProperties.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read pricing rules from " + file, e);
+        }
+    }
+
+    public record PricingRulesInfo(String version) {
+    }
+}
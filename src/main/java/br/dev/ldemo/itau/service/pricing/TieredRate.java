@@ -0,0 +1,7 @@
+package br.dev.ldemo.itau.service.pricing;
+
+/**
+ * Rate of a vehicle value together with the index of the band (pricing tier) it was taken from.
+ */
+public record TieredRate(double rate, int tier) {
+}
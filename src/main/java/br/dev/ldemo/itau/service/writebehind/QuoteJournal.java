@@ -0,0 +1,248 @@
+package br.dev.ldemo.itau.service.writebehind;
+
+import br.dev.ldemo.itau.entity.Customer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Append-only local journal of accepted quotes. Each line is {@code <sequence>\t<customer json>} and is
+ * forced to disk before the quote is acknowledged. Forces are grouped: appends only write under the
+ * journal lock, and one {@code force} outside it makes every entry written so far durable, releasing all
+ * the callers waiting for them. A checkpoint file keeps the last sequence saved in the database; on
+ * startup the entries after it are replayed (at-least-once).
+ * <p>
+ * The journal is split in segment files named after their first sequence. At a checkpoint a segment larger
+ * than {@code segmentSize} is closed and a new one started, and closed segments whose entries are all saved
+ * are deleted.
+ */
+@Slf4j
+class QuoteJournal implements AutoCloseable {
+
+    private static final String SEGMENT_PREFIX = "quotes-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    // single file written before the journal was segmented; replayed and deleted like a closed segment
+    private static final String LEGACY_JOURNAL = "quotes.journal";
+
+    private final Path directory;
+    private final Path checkpointFile;
+    private final ObjectMapper objectMapper;
+    private final long segmentSize;
+    // not synchronized: appends run on request (possibly virtual) threads and must not pin them
+    private final ReentrantLock lock = new ReentrantLock();
+    // held by the caller forcing the journal; the others wait for it and usually find their entry forced
+    private final ReentrantLock forceLock = new ReentrantLock();
+    // oldest first
+    private final Deque<Segment> closedSegments = new ArrayDeque<>();
+
+    private Path segment;
+    private FileChannel channel;
+    private volatile long lastSequence;
+    private volatile long forcedSequence;
+    private long committedSequence;
+
+    QuoteJournal(Path directory, ObjectMapper objectMapper, long segmentSize) {
+        this.directory = directory;
+        this.checkpointFile = directory.resolve("quotes.checkpoint");
+        this.objectMapper = objectMapper;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Opens the journal for appends and returns the entries accepted but never saved.
+     */
+    List<Entry> open() throws IOException {
+        Files.createDirectories(directory);
+        committedSequence = Files.exists(checkpointFile) ? Long.parseLong(Files.readString(checkpointFile).trim()) : 0;
+        lastSequence = committedSequence;
+
+        List<Entry> pending = new ArrayList<>();
+        for (Path file : segmentFiles()) {
+            long last = read(file, pending);
+            lastSequence = Math.max(lastSequence, last);
+            closedSegments.add(new Segment(file, last));
+        }
+        deleteSavedSegments();
+        // appends always start a new segment, so they never follow a torn last line
+        openSegment();
+        forcedSequence = lastSequence;
+        return pending;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> isSegment(file.getFileName().toString()))
+                    .sorted(Comparator.comparingLong(QuoteJournal::firstSequence))
+                    .toList();
+        }
+    }
+
+    private static boolean isSegment(String name) {
+        return name.equals(LEGACY_JOURNAL) || (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX));
+    }
+
+    private static long firstSequence(Path file) {
+        String name = file.getFileName().toString();
+        return name.equals(LEGACY_JOURNAL) ? 0
+                : Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * Adds the unsaved entries of {@code file} to {@code pending} and returns the last sequence it holds.
+     */
+    private long read(Path file, List<Entry> pending) throws IOException {
+        long last = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Entry entry = parse(line);
+                if (entry == null) {
+                    continue;
+                }
+                last = Math.max(last, entry.sequence());
+                if (entry.sequence() > committedSequence) {
+                    pending.add(entry);
+                }
+            }
+        }
+        return last;
+    }
+
+    private Entry parse(String line) {
+        int tab = line.indexOf('\t');
+        try {
+            return tab < 0 ? null : new Entry(Long.parseLong(line.substring(0, tab)),
+                    objectMapper.readValue(line.substring(tab + 1), Customer.class));
+        } catch (IOException | NumberFormatException e) {
+            // a torn last line from a crash while appending: that quote was never acknowledged
+            log.warn("Skipping unreadable write-behind journal entry");
+            return null;
+        }
+    }
+
+    private void openSegment() throws IOException {
+        segment = directory.resolve(SEGMENT_PREFIX + String.format("%020d", lastSequence + 1) + SEGMENT_SUFFIX);
+        channel = FileChannel.open(segment, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Writes the customer and hands the entry to {@code onAppended} while still holding the journal lock,
+     * so entries reach the writer in sequence order. The entry is durable only after {@link #sync(long)}.
+     */
+    long append(Customer customer, Consumer<Entry> onAppended) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(customer);
+        lock.lock();
+        try {
+            long sequence = lastSequence + 1;
+            byte[] prefix = (sequence + "\t").getBytes(StandardCharsets.UTF_8);
+            ByteBuffer buffer = ByteBuffer.allocate(prefix.length + json.length + 1)
+                    .put(prefix)
+                    .put(json)
+                    .put((byte) '\n')
+                    .flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            lastSequence = sequence;
+            onAppended.accept(new Entry(sequence, customer));
+            return sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until the entry {@code sequence} is on disk. The caller that gets the force lock forces every
+     * entry written so far, so concurrent appends share one {@code force}.
+     */
+    void sync(long sequence) throws IOException {
+        if (forcedSequence >= sequence) {
+            return;
+        }
+        forceLock.lock();
+        try {
+            if (forcedSequence >= sequence) {
+                // forced by the previous holder while this caller was waiting
+                return;
+            }
+            long written = lastSequence;
+            channel.force(false);
+            forcedSequence = written;
+        } finally {
+            forceLock.unlock();
+        }
+    }
+
+    /**
+     * Records that every entry up to {@code sequence} is saved, starts a new segment if the current one
+     * has grown past {@code segmentSize} and deletes the segments holding only saved entries.
+     */
+    void commit(long sequence) throws IOException {
+        lock.lock();
+        try {
+            if (sequence <= committedSequence) {
+                return;
+            }
+            Path temporary = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+            Files.writeString(temporary, Long.toString(sequence));
+            Files.move(temporary, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            committedSequence = sequence;
+            if (channel.size() >= segmentSize) {
+                rotate();
+            }
+            deleteSavedSegments();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void rotate() throws IOException {
+        // the force lock keeps a concurrent sync from forcing the channel being closed
+        forceLock.lock();
+        try {
+            channel.force(false);
+            forcedSequence = lastSequence;
+            channel.close();
+            closedSegments.add(new Segment(segment, lastSequence));
+            openSegment();
+        } finally {
+            forceLock.unlock();
+        }
+    }
+
+    private void deleteSavedSegments() throws IOException {
+        while (!closedSegments.isEmpty() && closedSegments.peekFirst().lastSequence() <= committedSequence) {
+            Files.deleteIfExists(closedSegments.removeFirst().file());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    record Entry(long sequence, Customer customer) {
+    }
+
+    private record Segment(Path file, long lastSequence) {
+    }
+}
@@ -0,0 +1,316 @@
+package br.dev.ldemo.itau.service.writebehind;
+
+import br.dev.ldemo.itau.entity.Customer;
+import br.dev.ldemo.itau.exception.QuoteQueueFullException;
+import br.dev.ldemo.itau.repository.CustomerRespository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional write-behind persistence of quotes ({@code app.quote.write-behind.enabled}). Accepted quotes are
+ * journaled, queued and saved by a background writer in batched transactions, so the request only waits
+ * for the journal append. When the queue is full callers wait up to {@code offer-timeout} and are then
+ * rejected with {@link QuoteQueueFullException}.
+ */
+@Slf4j
+@Component
+public class QuoteWriteBehind implements SmartLifecycle {
+
+    private final CustomerRespository repository;
+    private final WriteBehindProperties properties;
+    private final QuoteJournal journal;
+    private final BlockingQueue<QuoteJournal.Entry> queue = new LinkedBlockingQueue<>();
+    // idempotency keys of the quotes accepted and not yet saved
+    private final ConcurrentMap<String, CompletableFuture<Customer>> pendingKeys = new ConcurrentHashMap<>();
+    private final Semaphore capacity;
+    private final Timer flushTimer;
+    private final Counter rejected;
+    private final Counter dropped;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public QuoteWriteBehind(CustomerRespository repository, WriteBehindProperties properties,
+                            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.properties = properties;
+        this.journal = new QuoteJournal(properties.getJournalDirectory(), objectMapper,
+                properties.getSegmentSize().toBytes());
+        this.capacity = new Semaphore(properties.getQueueCapacity());
+        Gauge.builder("quote.writebehind.queue.depth", queue, BlockingQueue::size)
+                .description("Quotes accepted and waiting to be saved")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("quote.writebehind.flush")
+                .description("Time to save one batch of quotes")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejected = Counter.builder("quote.writebehind.rejected")
+                .description("Quotes rejected because the queue was full")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("quote.writebehind.dropped")
+                .description("Quotes discarded because the database refused them")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return running;
+    }
+
+    /**
+     * Journals the customer and queues it for saving, and returns it. The customer id is assigned when the
+     * batch is saved. While a quote with the same idempotency key is queued, that quote is returned instead
+     * and nothing is journaled (the database only sees the key once the batch is saved).
+     */
+    public Customer submit(Customer customer) {
+        String idempotencyKey = customer.getIdempotencyKey();
+        CompletableFuture<Customer> acceptance = new CompletableFuture<>();
+        if (idempotencyKey != null) {
+            CompletableFuture<Customer> accepted = pendingKeys.putIfAbsent(idempotencyKey, acceptance);
+            if (accepted != null) {
+                return awaitAccepted(accepted);
+            }
+        }
+        long sequence;
+        try {
+            sequence = enqueue(customer);
+        } catch (RuntimeException e) {
+            if (idempotencyKey != null) {
+                pendingKeys.remove(idempotencyKey, acceptance);
+            }
+            acceptance.completeExceptionally(e);
+            throw e;
+        }
+        try {
+            journal.sync(sequence);
+        } catch (IOException e) {
+            // already queued: the writer still saves it and releases its capacity
+            UncheckedIOException failure = new UncheckedIOException("Failed to journal quote", e);
+            acceptance.completeExceptionally(failure);
+            throw failure;
+        }
+        acceptance.complete(customer);
+        return customer;
+    }
+
+    private long enqueue(Customer customer) {
+        try {
+            if (!running || !capacity.tryAcquire(properties.getOfferTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                rejected.increment();
+                throw new QuoteQueueFullException("Quote queue is full, try again later");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new QuoteQueueFullException("Interrupted while waiting for the quote queue");
+        }
+        try {
+            return journal.append(customer, queue::add);
+        } catch (IOException e) {
+            capacity.release();
+            throw new UncheckedIOException("Failed to journal quote", e);
+        }
+    }
+
+    /**
+     * Waits for the first request with the same idempotency key to be journaled and answers like it.
+     */
+    private static Customer awaitAccepted(CompletableFuture<Customer> accepted) {
+        try {
+            return accepted.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            List<QuoteJournal.Entry> pending = journal.open();
+            if (!pending.isEmpty()) {
+                log.info("Replaying {} journaled quotes", pending.size());
+                for (int from = 0; from < pending.size(); from += properties.getBatchSize()) {
+                    flush(pending.subList(from, Math.min(pending.size(), from + properties.getBatchSize())));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open write-behind journal", e);
+        }
+        running = true;
+        writer = Thread.ofPlatform().name("quote-write-behind").start(this::drain);
+        log.info("Write-behind persistence started");
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join();
+            journal.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.warn("Failed to close write-behind journal", e);
+        }
+        log.info("Write-behind persistence stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Started before and stopped after the web server, so in-flight requests can still hand over quotes.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void drain() {
+        List<QuoteJournal.Entry> batch = new ArrayList<>(properties.getBatchSize());
+        long pollNanos = properties.getFlushInterval().toNanos();
+        while (running || !queue.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    QuoteJournal.Entry first = queue.poll(pollNanos, TimeUnit.NANOSECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, properties.getBatchSize() - 1);
+                }
+                flush(batch);
+                capacity.release(batch.size());
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    // the entries stay in the journal and are replayed on startup
+                    log.error("Stopping write-behind with {} unsaved quotes", batch.size() + queue.size(), e);
+                    return;
+                }
+                // the writer must outlive any failure, or the queue fills up and every submit is rejected
+                log.error("Failed to flush {} quotes, retrying", batch.size(), e);
+                sleep();
+            }
+        }
+    }
+
+    private void flush(List<QuoteJournal.Entry> batch) {
+        long start = System.nanoTime();
+        persist(batch);
+        flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        // from now on a retry finds the key in the database
+        batch.forEach(entry -> {
+            if (entry.customer().getIdempotencyKey() != null) {
+                pendingKeys.remove(entry.customer().getIdempotencyKey());
+            }
+        });
+        checkpoint(batch.getLast().sequence());
+    }
+
+    private void persist(List<QuoteJournal.Entry> batch) {
+        List<Customer> customers = batch.stream().map(QuoteJournal.Entry::customer).toList();
+        while (true) {
+            try {
+                repository.saveAll(customers);
+                return;
+            } catch (DataIntegrityViolationException e) {
+                resetIds(customers);
+                persistEach(batch);
+                return;
+            } catch (RuntimeException e) {
+                resetIds(customers);
+                if (!running) {
+                    throw e;
+                }
+                log.error("Failed to save {} quotes, retrying", customers.size(), e);
+                sleep();
+            }
+        }
+    }
+
+    /**
+     * Saves the batch one by one after a constraint violation, dropping only the offending quotes
+     * (e.g. a repeated idempotency key). Other failures are retried from the quote that failed; when
+     * stopping, the quotes saved so far are checkpointed so a replay does not insert them again.
+     */
+    private void persistEach(List<QuoteJournal.Entry> batch) {
+        int next = 0;
+        while (next < batch.size()) {
+            Customer customer = batch.get(next).customer();
+            try {
+                repository.save(customer);
+                next++;
+            } catch (DataIntegrityViolationException e) {
+                customer.setId(null);
+                dropped.increment();
+                log.warn("Dropping quote calculated at {} refused by the database: {}", customer.getCalculatedAt(), e.getMessage());
+                next++;
+            } catch (RuntimeException e) {
+                customer.setId(null);
+                if (!running) {
+                    if (next > 0) {
+                        checkpoint(batch.get(next - 1).sequence());
+                    }
+                    throw e;
+                }
+                log.error("Failed to save quote {} of {}, retrying", next + 1, batch.size(), e);
+                sleep();
+            }
+        }
+    }
+
+    private void checkpoint(long sequence) {
+        try {
+            journal.commit(sequence);
+        } catch (IOException e) {
+            // the quotes are saved; a stale checkpoint only means they may be replayed again
+            log.warn("Failed to checkpoint write-behind journal", e);
+        }
+    }
+
+    private static void resetIds(List<Customer> customers) {
+        // ids assigned inside the rolled back transaction would make the retry a merge
+        customers.forEach(customer -> customer.setId(null));
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(properties.getRetryBackoff());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package br.dev.ldemo.itau.service.writebehind;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Write-behind persistence of quotes, configured under {@code app.quote.write-behind}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.quote.write-behind")
+public class WriteBehindProperties {
+
+    private boolean enabled = false;
+
+    /** Accepted quotes not yet saved; once full, new quotes wait up to {@code offerTimeout}. */
+    private int queueCapacity = 10000;
+
+    private Duration offerTimeout = Duration.ofMillis(100);
+
+    /** Maximum quotes saved per transaction. */
+    private int batchSize = 500;
+
+    /** Maximum time an accepted quote waits for a batch to fill. */
+    private Duration flushInterval = Duration.ofMillis(50);
+
+    private Duration retryBackoff = Duration.ofSeconds(1);
+
+    /** Directory of the journal that keeps accepted quotes until they are saved. */
+    private Path journalDirectory = Path.of("data", "write-behind");
+
+    /** Journal segment size past which the next checkpoint starts a new segment. */
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+}
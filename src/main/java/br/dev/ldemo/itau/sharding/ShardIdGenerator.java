@@ -0,0 +1,59 @@
+package br.dev.ldemo.itau.sharding;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Snowflake-style ids that encode the owning shard: 41 bits of milliseconds since {@link #EPOCH}, a 12 bit
+ * sequence, 4 bits of worker and 6 bits of shard. Worker and shard sit below the sequence, so the ids of one
+ * worker grow in issue order across all shards and serve as the keyset of listings merged from every shard.
+ * Ids of different workers are only ordered by millisecond: a merged page can skip a row another worker
+ * inserted in the millisecond of the cursor.
+ */
+final class ShardIdGenerator {
+
+    static final long EPOCH = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+    static final int MAX_SHARDS = 1 << 6;
+    static final int MAX_WORKERS = 1 << 4;
+
+    private static final int SEQUENCE_BITS = 12;
+    private static final int SHARD_SHIFT = 0;
+    private static final int WORKER_SHIFT = SHARD_SHIFT + 6;
+    private static final int SEQUENCE_SHIFT = WORKER_SHIFT + 4;
+    private static final int TIME_SHIFT = SEQUENCE_SHIFT + SEQUENCE_BITS;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long workerId;
+    private final LongSupplier clock;
+    /** Last issued (milliseconds since epoch << SEQUENCE_BITS) | sequence. */
+    private final AtomicLong last = new AtomicLong();
+
+    ShardIdGenerator(int workerId, LongSupplier clock) {
+        if (workerId < 0 || workerId >= MAX_WORKERS) {
+            throw new IllegalArgumentException("Worker id must be between 0 and " + (MAX_WORKERS - 1));
+        }
+        this.workerId = workerId;
+        this.clock = clock;
+    }
+
+    long nextId(int shard) {
+        while (true) {
+            long current = last.get();
+            long now = clock.getAsLong() - EPOCH;
+            // same millisecond, or the clock went back: keep counting from the last id; a full sequence
+            // carries into the next millisecond
+            long next = now > (current >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : current + 1;
+            if (last.compareAndSet(current, next)) {
+                return ((next >>> SEQUENCE_BITS) << TIME_SHIFT)
+                        | ((next & SEQUENCE_MASK) << SEQUENCE_SHIFT)
+                        | (workerId << WORKER_SHIFT)
+                        | ((long) shard << SHARD_SHIFT);
+            }
+        }
+    }
+
+    static int shardOf(long id) {
+        return (int) ((id >>> SHARD_SHIFT) & (MAX_SHARDS - 1));
+    }
+}
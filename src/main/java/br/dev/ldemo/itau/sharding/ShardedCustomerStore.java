@@ -0,0 +1,124 @@
+package br.dev.ldemo.itau.sharding;
+
+import br.dev.ldemo.itau.dto.CustomerOutputDto;
+import br.dev.ldemo.itau.entity.Customer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.LongSupplier;
+import java.util.zip.CRC32C;
+
+/**
+ * Stores each customer in one of N databases, chosen by a hash of its document. The id encodes the shard
+ * (see {@link ShardIdGenerator}), so lookups by id go straight to the owning shard; listings query every
+ * shard in parallel and merge the results in id order.
+ */
+public class ShardedCustomerStore implements DisposableBean {
+
+    private static final String INSERT = "insert into customer (id, name, document, birth_date, location, "
+            + "vehicle_value, premium, rate, calculated_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_QUOTE = "select id, name, location, coalesce(premium, 0.0) as premium from customer";
+    private static final RowMapper<CustomerOutputDto> QUOTE_MAPPER = (rs, rowNum) -> new CustomerOutputDto(
+            rs.getLong("id"), rs.getString("name"), rs.getString("location"), rs.getDouble("premium"));
+
+    private final List<DataSource> dataSources;
+    private final List<JdbcTemplate> shards;
+    private final ShardIdGenerator idGenerator;
+    private final ExecutorService scatterExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ShardedCustomerStore(List<DataSource> dataSources, int workerId) {
+        this(dataSources, workerId, System::currentTimeMillis);
+    }
+
+    ShardedCustomerStore(List<DataSource> dataSources, int workerId, LongSupplier clock) {
+        if (dataSources.isEmpty() || dataSources.size() > ShardIdGenerator.MAX_SHARDS) {
+            throw new IllegalArgumentException("Between 1 and " + ShardIdGenerator.MAX_SHARDS + " shards are supported");
+        }
+        this.dataSources = List.copyOf(dataSources);
+        this.shards = dataSources.stream().map(JdbcTemplate::new).toList();
+        this.idGenerator = new ShardIdGenerator(workerId, clock);
+    }
+
+    public int shardCount() {
+        return shards.size();
+    }
+
+    /**
+     * Shard owning {@code document}. CRC32C keeps the mapping stable across JVMs and releases.
+     */
+    public int shardFor(String document) {
+        CRC32C crc = new CRC32C();
+        crc.update(document.getBytes(StandardCharsets.UTF_8));
+        return (int) (crc.getValue() % shards.size());
+    }
+
+    /**
+     * Inserts the customer in the shard of its document, assigning its id.
+     */
+    public void save(Customer customer) {
+        int shard = shardFor(customer.getDocument());
+        customer.setId(idGenerator.nextId(shard));
+        shards.get(shard).update(INSERT,
+                customer.getId(),
+                customer.getName(),
+                customer.getDocument(),
+                customer.getBirthDate() == null ? null : Date.valueOf(customer.getBirthDate()),
+                customer.getLocation(),
+                customer.getVehicle_value(),
+                customer.getPremium(),
+                customer.getRate(),
+                customer.getCalculatedAt() == null ? null : Timestamp.from(customer.getCalculatedAt()));
+    }
+
+    public Optional<CustomerOutputDto> findQuoteById(long id) {
+        int shard = ShardIdGenerator.shardOf(id);
+        if (id <= 0 || shard >= shards.size()) {
+            return Optional.empty();
+        }
+        return shards.get(shard).query(SELECT_QUOTE + " where id = ?", QUOTE_MAPPER, id).stream().findFirst();
+    }
+
+    /**
+     * Keyset page over all shards: each shard returns its first {@code limit} quotes after {@code after} and
+     * the merged list keeps the {@code limit} lowest ids.
+     */
+    public List<CustomerOutputDto> findQuotesAfter(long after, int limit) {
+        List<CompletableFuture<List<CustomerOutputDto>>> pages = shards.stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> shard.query(
+                        SELECT_QUOTE + " where id > ? order by id limit ?", QUOTE_MAPPER, after, limit), scatterExecutor))
+                .toList();
+        List<CustomerOutputDto> merged = new ArrayList<>();
+        for (CompletableFuture<List<CustomerOutputDto>> page : pages) {
+            try {
+                merged.addAll(page.join());
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        merged.sort(Comparator.comparingLong(CustomerOutputDto::id));
+        return merged.size() > limit ? List.copyOf(merged.subList(0, limit)) : merged;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        scatterExecutor.shutdown();
+        for (DataSource dataSource : dataSources) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
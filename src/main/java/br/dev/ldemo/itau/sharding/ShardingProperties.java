@@ -0,0 +1,38 @@
+package br.dev.ldemo.itau.sharding;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sharded quote storage, configured under {@code app.sharding}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.sharding")
+public class ShardingProperties {
+
+    private boolean enabled = false;
+
+    /** Distinguishes the ids generated by each application instance; unique per instance, 0 to 15. */
+    private int workerId = 0;
+
+    /** Shard databases, in order. Changing their number or order moves documents to other shards. */
+    private List<Shard> shards = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Shard {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private int maximumPoolSize = 10;
+    }
+}
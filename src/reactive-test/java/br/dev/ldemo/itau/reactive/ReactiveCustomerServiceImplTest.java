@@ -0,0 +1,112 @@
+package br.dev.ldemo.itau.reactive;
+
+import br.dev.ldemo.itau.dto.CustomerInputDto;
+import br.dev.ldemo.itau.dto.QuoteBatchItemDto;
+import br.dev.ldemo.itau.entity.Customer;
+import br.dev.ldemo.itau.exception.ResourceNotFoundException;
+import br.dev.ldemo.itau.service.InsuranceCalculatorServiceImpl;
+import br.dev.ldemo.itau.service.QuoteMetrics;
+import br.dev.ldemo.itau.service.QuotePricing;
+import br.dev.ldemo.itau.service.pricing.Location;
+import br.dev.ldemo.itau.service.pricing.TieredRate;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveCustomerServiceImplTest {
+
+    @Mock
+    private ReactiveCustomerStore store;
+
+    @Mock
+    private InsuranceCalculatorServiceImpl insuranceCalculatorServiceImpl;
+
+    @Mock
+    private QuoteMetrics quoteMetrics;
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private final AtomicLong ids = new AtomicLong();
+
+    private ReactiveCustomerServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ReactiveCustomerServiceImpl(store,
+                new QuotePricing(insuranceCalculatorServiceImpl, validator, quoteMetrics), quoteMetrics);
+    }
+
+    @Test
+    void calculateInsuranceBatch_ShouldKeepOrderAndReportInvalidItems() {
+        // Arrange
+        when(insuranceCalculatorServiceImpl.tieredRate(anyDouble(), any(Location.class))).thenReturn(new TieredRate(0.05, 0));
+        when(store.save(any(Customer.class))).thenAnswer(invocation -> {
+            Customer customer = invocation.getArgument(0);
+            customer.setId(ids.incrementAndGet());
+            // later items finish first, the output must still follow the request order
+            return Mono.just(customer).delayElement(Duration.ofMillis(50 - customer.getId() * 10));
+        });
+        Flux<CustomerInputDto> inputs = Flux.just(input("Maria"), input(""), input("Joao"));
+
+        // Act / Assert
+        StepVerifier.create(service.calculateInsuranceBatch(inputs))
+                .assertNext(item -> assertEquals(2500.0, item.quote().vehicle_value()))
+                .assertNext(item -> assertTrue(item.error().startsWith("name "), item.error()))
+                .assertNext(item -> assertEquals(2L, item.index()))
+                .verifyComplete();
+    }
+
+    @Test
+    void calculateInsuranceBatch_ShouldRequestOnlyWhatItCanSave() {
+        // Arrange
+        when(insuranceCalculatorServiceImpl.tieredRate(anyDouble(), any(Location.class))).thenReturn(new TieredRate(0.05, 0));
+        when(store.save(any(Customer.class))).thenReturn(Mono.never());
+        AtomicLong requested = new AtomicLong();
+        Flux<CustomerInputDto> inputs = Flux.range(0, 1000)
+                .map(i -> input("Maria"))
+                .doOnRequest(n -> requested.addAndGet(n));
+
+        // Act
+        StepVerifier.create(service.calculateInsuranceBatch(inputs))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenCancel()
+                .verify();
+
+        // Assert
+        assertEquals(16, requested.get());
+    }
+
+    @Test
+    void getCustomerById_ShouldFail_WhenMissing() {
+        // Arrange
+        when(store.findQuoteById(anyLong())).thenReturn(Mono.empty());
+
+        // Act / Assert
+        StepVerifier.create(service.getCustomerById(1L))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+    }
+
+    private static CustomerInputDto input(String name) {
+        return new CustomerInputDto(name, "12345678900", LocalDate.of(1990, 1, 1), "SP", 50000.0);
+    }
+}
@@ -0,0 +1,21 @@
+package br.dev.ldemo.itau.reactive;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest(classes = ReactiveQuoteApplication.class, properties = "spring.main.web-application-type=reactive")
+@ActiveProfiles("reactive")
+class ReactiveQuoteApplicationTests {
+
+    @Autowired
+    private ReactiveCustomerController controller;
+
+    @Test
+    void contextLoads() {
+        assertNotNull(controller);
+    }
+}
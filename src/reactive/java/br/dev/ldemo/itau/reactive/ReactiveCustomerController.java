@@ -0,0 +1,78 @@
+package br.dev.ldemo.itau.reactive;
+
+import br.dev.ldemo.itau.controller.CustomerController;
+import br.dev.ldemo.itau.dto.CustomerInputDto;
+import br.dev.ldemo.itau.dto.CustomerOutputDto;
+import br.dev.ldemo.itau.dto.CustomerWrapper;
+import br.dev.ldemo.itau.dto.QuoteBatchItemDto;
+import br.dev.ldemo.itau.logging.LogMarkers;
+import br.dev.ldemo.itau.service.CustomerServiceImpl;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Same paths and payloads as the servlet {@code CustomerController}, for the quote, listing and batch endpoints.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/customers")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCustomerController {
+
+    private final ReactiveCustomerServiceImpl service;
+
+    public ReactiveCustomerController(ReactiveCustomerServiceImpl service) {
+        this.service = service;
+    }
+
+    @PostMapping("/quote")
+    public Mono<CustomerOutputDto> insuranceQuote(@RequestBody @Valid CustomerWrapper customerWrapper) {
+        log.info(LogMarkers.HOT_PATH, "Calculating insurance for customer {}", customerWrapper.getCustomer());
+        return service.calculateInsurance(customerWrapper.getCustomer());
+    }
+
+    /**
+     * Items are decoded as the request body arrives and results are written as they are saved.
+     */
+    @PostMapping(value = "/quotes:batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<QuoteBatchItemDto> insuranceQuoteBatch(@RequestBody Flux<CustomerInputDto> inputs) {
+        log.info("Calculating insurance batch");
+        return service.calculateInsuranceBatch(inputs);
+    }
+
+    @GetMapping("/quotes")
+    public Mono<ResponseEntity<List<CustomerOutputDto>>> insuranceQuotes(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "100") int limit) {
+        log.info("Retrieving insurance quotes after {} limited to {}", after, limit);
+        return service.getInsurancePage(after, limit).collectList().map(quotes -> {
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (!quotes.isEmpty() && quotes.size() >= Math.min(limit, CustomerServiceImpl.MAX_PAGE_SIZE)) {
+                response.header(CustomerController.NEXT_AFTER_HEADER, String.valueOf(quotes.getLast().id()));
+            }
+            return response.body(quotes);
+        });
+    }
+
+    @GetMapping(value = "/quotes/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<CustomerOutputDto> streamInsuranceQuotes() {
+        log.info("Streaming all insurance quotes");
+        return service.streamAllInsurance();
+    }
+
+    @GetMapping("/quote/{id}")
+    public Mono<CustomerOutputDto> getCustomerById(@PathVariable final Long id) {
+        log.info(LogMarkers.HOT_PATH, "Retrieving insurance quote with id {}", id);
+        return service.getCustomerById(id);
+    }
+}
@@ -0,0 +1,31 @@
+package br.dev.ldemo.itau.reactive;
+
+import br.dev.ldemo.itau.dto.CustomerInputDto;
+import br.dev.ldemo.itau.dto.CustomerOutputDto;
+import br.dev.ldemo.itau.dto.QuoteBatchItemDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveCustomerService {
+
+    Mono<CustomerOutputDto> calculateInsurance(CustomerInputDto customerInputDto);
+
+    /**
+     * Prices and saves the customers as they arrive, publishing one result per item in request order.
+     * At most {@code app.reactive.batch-concurrency} items are in flight, so a slow database slows down
+     * reading the request instead of buffering it.
+     */
+    Flux<QuoteBatchItemDto> calculateInsuranceBatch(Flux<CustomerInputDto> inputs);
+
+    Mono<CustomerOutputDto> getCustomerById(Long id);
+
+    /**
+     * Returns up to {@code limit} quotes with id greater than {@code after}, in id order.
+     */
+    Flux<CustomerOutputDto> getInsurancePage(long after, int limit);
+
+    /**
+     * Publishes every quote, in id order, at the pace of the subscriber.
+     */
+    Flux<CustomerOutputDto> streamAllInsurance();
+}
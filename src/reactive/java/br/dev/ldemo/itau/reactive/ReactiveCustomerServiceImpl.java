@@ -0,0 +1,99 @@
+package br.dev.ldemo.itau.reactive;
+
+import br.dev.ldemo.itau.dto.CustomerInputDto;
+import br.dev.ldemo.itau.dto.CustomerOutputDto;
+import br.dev.ldemo.itau.dto.QuoteBatchItemDto;
+import br.dev.ldemo.itau.entity.Customer;
+import br.dev.ldemo.itau.exception.ResourceNotFoundException;
+import br.dev.ldemo.itau.logging.LogMarkers;
+import br.dev.ldemo.itau.service.CustomerServiceImpl;
+import br.dev.ldemo.itau.service.QuoteMetrics;
+import br.dev.ldemo.itau.service.QuotePricing;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reactive counterpart of {@link CustomerServiceImpl}. Pricing is pure CPU work of a few microseconds, so it
+ * runs on the event loop; only the database calls are asynchronous.
+ */
+@Slf4j
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCustomerServiceImpl implements ReactiveCustomerService {
+
+    private final ReactiveCustomerStore store;
+    private final QuotePricing quotePricing;
+    private final QuoteMetrics quoteMetrics;
+
+    @Value("${app.reactive.batch-concurrency:16}")
+    private int batchConcurrency = 16;
+
+    public ReactiveCustomerServiceImpl(ReactiveCustomerStore store, QuotePricing quotePricing, QuoteMetrics quoteMetrics) {
+        this.store = store;
+        this.quotePricing = quotePricing;
+        this.quoteMetrics = quoteMetrics;
+    }
+
+    public Mono<CustomerOutputDto> calculateInsurance(CustomerInputDto customerInputDto) {
+        return Mono.fromCallable(() -> quotePricing.price(customerInputDto))
+                .flatMap(this::save)
+                .map(Customer::toOutputDto);
+    }
+
+    public Flux<QuoteBatchItemDto> calculateInsuranceBatch(Flux<CustomerInputDto> inputs) {
+        AtomicLong received = new AtomicLong();
+        return inputs
+                .doOnNext(input -> received.incrementAndGet())
+                .index()
+                // keeps request order while saving up to batchConcurrency items at once; on a broken body the
+                // items already in flight still complete before the error line
+                .flatMapSequentialDelayError(item -> quote(item.getT1(), item.getT2()), batchConcurrency, 1)
+                .onErrorResume(e -> Mono.just(QuoteBatchItemDto.failure(received.get(),
+                        "Malformed request body: " + e.getMessage())))
+                .doOnComplete(() -> log.info("Batch quote finished with {} items", received.get()));
+    }
+
+    public Mono<CustomerOutputDto> getCustomerById(Long id) {
+        return store.findQuoteById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Customer not found")));
+    }
+
+    public Flux<CustomerOutputDto> getInsurancePage(long after, int limit) {
+        return store.findQuotesAfter(after, Math.clamp(limit, 1, CustomerServiceImpl.MAX_PAGE_SIZE));
+    }
+
+    public Flux<CustomerOutputDto> streamAllInsurance() {
+        return store.findAllQuotes();
+    }
+
+    private Mono<QuoteBatchItemDto> quote(long index, CustomerInputDto customerInputDto) {
+        QuotePricing.Priced priced = quotePricing.validateAndPrice(customerInputDto);
+        if (priced.error() != null) {
+            return Mono.just(QuoteBatchItemDto.failure(index, priced.error()));
+        }
+        return save(priced.customer())
+                .map(saved -> QuoteBatchItemDto.success(index, saved.toOutputDto()))
+                .onErrorResume(e -> {
+                    log.error("Failed to save batch item {}", index, e);
+                    return Mono.just(QuoteBatchItemDto.failure(index, "Failed to save quote"));
+                });
+    }
+
+    private Mono<Customer> save(Customer customer) {
+        // timed from subscription, so the flatMap queue ahead of it is not counted as database time
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return store.save(customer)
+                    .doOnSuccess(saved -> {
+                        quoteMetrics.recordSave(System.nanoTime() - start);
+                        log.info(LogMarkers.HOT_PATH, "Customer saved with id {}", saved.getId());
+                    });
+        });
+    }
+}
@@ -0,0 +1,84 @@
+package br.dev.ldemo.itau.reactive;
+
+import br.dev.ldemo.itau.dto.CustomerOutputDto;
+import br.dev.ldemo.itau.entity.Customer;
+import io.r2dbc.spi.Row;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Non-blocking access to the {@code customer} table through R2DBC. Rows are emitted as the driver reads
+ * them, so listings follow the subscriber's demand instead of loading the whole result.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCustomerStore {
+
+    private static final String INSERT = "insert into customer (name, document, birth_date, location, vehicle_value, "
+            + "premium, rate, calculated_at) values (:name, :document, :birthDate, :location, :vehicleValue, "
+            + ":premium, :rate, :calculatedAt)";
+    private static final String SELECT_QUOTE = "select id, name, location, coalesce(premium, 0.0) as premium from customer";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveCustomerStore(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Inserts the customer and completes with it, id assigned.
+     */
+    public Mono<Customer> save(Customer customer) {
+        return databaseClient.sql(INSERT)
+                .bind("name", customer.getName())
+                .bind("document", customer.getDocument())
+                .bind("birthDate", customer.getBirthDate())
+                .bind("location", customer.getLocation())
+                .bind("vehicleValue", customer.getVehicle_value())
+                .bind("premium", customer.getPremium())
+                .bind("rate", customer.getRate())
+                .bind("calculatedAt", LocalDateTime.ofInstant(customer.getCalculatedAt(), ZoneOffset.UTC))
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .map(id -> {
+                    customer.setId(id);
+                    return customer;
+                });
+    }
+
+    public Mono<CustomerOutputDto> findQuoteById(long id) {
+        return databaseClient.sql(SELECT_QUOTE + " where id = :id")
+                .bind("id", id)
+                .map(ReactiveCustomerStore::toQuote)
+                .one();
+    }
+
+    /**
+     * Keyset page: quotes with id greater than {@code after}, in id order.
+     */
+    public Flux<CustomerOutputDto> findQuotesAfter(long after, int limit) {
+        return databaseClient.sql(SELECT_QUOTE + " where id > :after order by id limit :limit")
+                .bind("after", after)
+                .bind("limit", limit)
+                .map(ReactiveCustomerStore::toQuote)
+                .all();
+    }
+
+    public Flux<CustomerOutputDto> findAllQuotes() {
+        return databaseClient.sql(SELECT_QUOTE + " order by id")
+                .map(ReactiveCustomerStore::toQuote)
+                .all();
+    }
+
+    private static CustomerOutputDto toQuote(Row row) {
+        return new CustomerOutputDto(row.get("id", Long.class), row.get("name", String.class),
+                row.get("location", String.class), row.get("premium", Double.class));
+    }
+}
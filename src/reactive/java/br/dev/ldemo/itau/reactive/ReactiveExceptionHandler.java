@@ -0,0 +1,58 @@
+package br.dev.ldemo.itau.reactive;
+
+import br.dev.ldemo.itau.exception.ApiErrorResponse;
+import br.dev.ldemo.itau.exception.ResourceNotFoundException;
+import br.dev.ldemo.itau.exception.handler.GlobalExceptionHandler;
+import br.dev.ldemo.itau.service.QuoteMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+import static br.dev.ldemo.itau.exception.handler.GlobalExceptionHandler.fieldErrorsMessage;
+
+/**
+ * Mesmas respostas de erro do {@code GlobalExceptionHandler}, para a variante WebFlux.
+ */
+@ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveExceptionHandler {
+
+    private final QuoteMetrics quoteMetrics;
+
+    public ReactiveExceptionHandler(QuoteMetrics quoteMetrics) {
+        this.quoteMetrics = quoteMetrics;
+    }
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ApiErrorResponse> handleResourceNotFound(
+            final ResourceNotFoundException ex, final ServerHttpRequest request) {
+        quoteMetrics.notFound();
+        return buildErrorResponse(ex, HttpStatus.NOT_FOUND, ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ApiErrorResponse> handleIllegalArgument(
+            final IllegalArgumentException ex, final ServerHttpRequest request) {
+        quoteMetrics.validationFailed();
+        return buildErrorResponse(ex, HttpStatus.BAD_REQUEST, ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ApiErrorResponse> handleBindException(
+            final WebExchangeBindException ex, final ServerHttpRequest request) {
+        quoteMetrics.validationFailed();
+        return buildErrorResponse(ex, HttpStatus.BAD_REQUEST, fieldErrorsMessage(ex.getBindingResult()), request);
+    }
+
+    private static ResponseEntity<ApiErrorResponse> buildErrorResponse(
+            final Exception e,
+            final HttpStatus status,
+            final String message,
+            final ServerHttpRequest request) {
+        return GlobalExceptionHandler.buildErrorResponse(e, status, message, request.getPath().value());
+    }
+}
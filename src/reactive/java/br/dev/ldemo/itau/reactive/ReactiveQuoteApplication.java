@@ -0,0 +1,31 @@
+package br.dev.ldemo.itau.reactive;
+
+import br.dev.ldemo.itau.config.PricingConfig;
+import br.dev.ldemo.itau.service.InsuranceCalculatorServiceImpl;
+import br.dev.ldemo.itau.service.QuoteMetrics;
+import br.dev.ldemo.itau.service.QuotePricing;
+import br.dev.ldemo.itau.service.pricing.PricingRuleEngine;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.Import;
+
+/**
+ * WebFlux + R2DBC variant of the quote endpoints, built with the {@code reactive} Maven profile. It only scans
+ * this package and reuses the pricing beans of the servlet application; the condition keeps the servlet
+ * application from picking this class up when both are on the classpath.
+ */
+@SpringBootApplication
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Import({PricingConfig.class, PricingRuleEngine.class, InsuranceCalculatorServiceImpl.class, QuoteMetrics.class,
+        QuotePricing.class})
+public class ReactiveQuoteApplication {
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveQuoteApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles("reactive")
+                .run(args);
+    }
+}
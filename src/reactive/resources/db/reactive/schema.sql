@@ -0,0 +1,11 @@
+create table if not exists customer (
+    id bigint generated by default as identity primary key,
+    name varchar(255),
+    document varchar(255),
+    birth_date date,
+    location varchar(255),
+    vehicle_value double precision,
+    premium double precision,
+    rate double precision,
+    calculated_at timestamp(6)
+);
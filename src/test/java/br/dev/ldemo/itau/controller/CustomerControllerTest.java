@@ -0,0 +1,129 @@
+package br.dev.ldemo.itau.controller;
+
+import br.dev.ldemo.itau.entity.Customer;
+import br.dev.ldemo.itau.repository.CustomerRespository;
+import br.dev.ldemo.itau.service.CustomerBulkServiceImpl;
+import br.dev.ldemo.itau.service.CustomerImportServiceImpl;
+import br.dev.ldemo.itau.service.CustomerQuoteCache;
+import br.dev.ldemo.itau.service.CustomerServiceImpl;
+import br.dev.ldemo.itau.service.InsuranceCalculatorServiceImpl;
+import br.dev.ldemo.itau.service.QuoteMetrics;
+import br.dev.ldemo.itau.service.QuotePricing;
+import br.dev.ldemo.itau.service.writebehind.QuoteWriteBehind;
+import br.dev.ldemo.itau.service.pricing.TieredRate;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerControllerTest {
+
+    @Mock
+    private CustomerRespository customerRespository;
+
+    @Mock
+    private InsuranceCalculatorServiceImpl insuranceCalculatorServiceImpl;
+
+    @Mock
+    private QuoteWriteBehind quoteWriteBehind;
+
+    @Mock
+    private QuoteMetrics quoteMetrics;
+
+    @Mock
+    private CustomerBulkServiceImpl customerBulkServiceImpl;
+
+    @Mock
+    private CustomerImportServiceImpl customerImportServiceImpl;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private CustomerController customerController;
+
+    @BeforeEach
+    void setUp() {
+        CustomerServiceImpl service = new CustomerServiceImpl(customerRespository, new QuotePricing(
+                insuranceCalculatorServiceImpl, Validation.buildDefaultValidatorFactory().getValidator(), quoteMetrics),
+                new CustomerQuoteCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1), Duration.ofMinutes(1)),
+                quoteWriteBehind, quoteMetrics);
+        customerController = new CustomerController(service, customerBulkServiceImpl, customerImportServiceImpl, objectMapper);
+    }
+
+    @Test
+    void insuranceQuoteBatch_ShouldWriteOneNdjsonLinePerItem() throws Exception {
+        // Arrange
+        when(insuranceCalculatorServiceImpl.tieredRate(anyDouble(), any())).thenReturn(new TieredRate(0.05, 0));
+        when(customerRespository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Customer> customers = invocation.getArgument(0);
+            for (int i = 0; i < customers.size(); i++) {
+                customers.get(i).setId(10L + i);
+            }
+            return customers;
+        });
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/customers/quotes:batch");
+        request.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        request.setContent("""
+                {"name":"Jonatan","document":"12345678900","birthDate":"1990-01-01","location":"SP","vehicle_value":50000.0}
+                {"name":"","document":"12345678900","birthDate":"1990-01-01","location":"SP","vehicle_value":50000.0}
+                {"name":"Maria","document":"98765432100","birthDate":"1995-05-05","location":"RJ","vehicle_value":60000.0}
+                """.getBytes(StandardCharsets.UTF_8));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        ResponseEntity<StreamingResponseBody> response = customerController.insuranceQuoteBatch(request);
+        response.getBody().writeTo(out);
+
+        // Assert
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        String body = out.toString(StandardCharsets.UTF_8);
+        assertTrue(body.endsWith("\n"), body);
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        assertEquals(3, lines.size());
+
+        // a rejected item is written as soon as it is read, saved items when their chunk is saved
+        JsonNode rejected = lines.get(0);
+        assertEquals(1, rejected.get("index").asLong());
+        assertTrue(rejected.get("error").asText().startsWith("name "), rejected.toString());
+        assertFalse(rejected.has("quote"), rejected.toString());
+
+        JsonNode first = lines.get(1);
+        assertEquals(0, first.get("index").asLong());
+        assertFalse(first.has("error"), first.toString());
+        assertEquals(10L, first.get("quote").get("id").asLong());
+        assertEquals("Jonatan", first.get("quote").get("name").asText());
+        assertEquals("SP", first.get("quote").get("location").asText());
+        assertEquals(2500.0, first.get("quote").get("vehicle_value").asDouble());
+
+        JsonNode third = lines.get(2);
+        assertEquals(2, third.get("index").asLong());
+        assertEquals(11L, third.get("quote").get("id").asLong());
+        assertEquals(3000.0, third.get("quote").get("vehicle_value").asDouble());
+        verify(customerRespository, times(1)).saveAll(anyList());
+    }
+}
@@ -0,0 +1,68 @@
+package br.dev.ldemo.itau.controller;
+
+import br.dev.ldemo.itau.dto.QuoteExportRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuoteExportWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private final QuoteExportRow row = new QuoteExportRow(
+            7L, "Silva, \"Jonatan\"", "SP", 50000.0, 2500.0, 0.05, Instant.parse("2026-01-02T03:04:05Z"));
+
+    @Test
+    void csv_ShouldWriteHeaderAndQuoteSpecialCharacters() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        try (QuoteExportWriter writer = QuoteExportWriter.of("csv", out, objectMapper)) {
+            writer.write(row);
+            writer.write(new QuoteExportRow(8L, "Maria", "RJ", 60000.0, null, null, null));
+        }
+
+        // Assert
+        assertEquals("""
+                id,name,location,vehicle_value,premium,rate,calculated_at
+                7,"Silva, ""Jonatan\""",SP,50000.0,2500.0,0.05,2026-01-02T03:04:05Z
+                8,Maria,RJ,60000.0,,,
+                """, out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void ndjson_ShouldWriteOneObjectPerLine() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        try (QuoteExportWriter writer = QuoteExportWriter.of("ndjson", out, objectMapper)) {
+            writer.write(row);
+            writer.write(row);
+        }
+
+        // Assert
+        String body = out.toString(StandardCharsets.UTF_8);
+        assertTrue(body.endsWith("\n"), body);
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        for (String line : lines) {
+            assertEquals(objectMapper.writeValueAsString(row), line);
+        }
+    }
+
+    @Test
+    void normalizeFormat_WithUnknownFormat_ShouldThrowIllegalArgumentException() {
+        assertEquals("csv", QuoteExportWriter.normalizeFormat("CSV"));
+        assertThrows(IllegalArgumentException.class, () -> QuoteExportWriter.normalizeFormat("xml"));
+    }
+}
@@ -0,0 +1,113 @@
+package br.dev.ldemo.itau.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Two in-memory H2 databases stand in for the primary and the replica; each one names itself in a table.
+ */
+class ReadReplicaRoutingDataSourceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private DataSource primary;
+    private DataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        primary = database("primary");
+        replica = database("replica");
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldUseReplica() {
+        // Arrange
+        ReadReplicaRoutingDataSource routing = routing(Map.of("replica-0", replica));
+
+        // Act
+        String readOnly = currentDatabase(routing, true);
+        String readWrite = currentDatabase(routing, false);
+
+        // Assert
+        assertEquals("replica", readOnly);
+        assertEquals("primary", readWrite);
+        assertEquals(1.0, meterRegistry.get("datasource.routed").tag("pool", "replica-0").counter().count());
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldFallBackToPrimary_WhenReplicaIsDown() {
+        // Arrange
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", new DriverManagerDataSource("jdbc:h2:tcp://localhost:1/unreachable", "sa", ""));
+        ReadReplicaRoutingDataSource routing = routing(replicas);
+
+        // Act
+        String first = currentDatabase(routing, true);
+        routing.checkReplicas();
+        String second = currentDatabase(routing, true);
+
+        // Assert
+        assertEquals("primary", first);
+        assertEquals("primary", second);
+        assertEquals(0.0, meterRegistry.get("datasource.replica.healthy").tag("pool", "replica-0").gauge().value());
+        assertEquals(2.0, meterRegistry.get("datasource.replica.fallback").counter().count());
+    }
+
+    @Test
+    void getConnectionWithCredentials_ShouldUsePrimary() throws Exception {
+        // Arrange
+        ReadReplicaRoutingDataSource routing = routing(Map.of("replica-0", replica));
+
+        // Act
+        String database;
+        try (Connection connection = routing.getConnection("sa", "");
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("select name from instance")) {
+            result.next();
+            database = result.getString(1);
+        }
+
+        // Assert
+        assertEquals("primary", database);
+        assertEquals(1.0, meterRegistry.get("datasource.routed").tag("pool", "primary").counter().count());
+    }
+
+    private ReadReplicaRoutingDataSource routing(Map<String, DataSource> replicas) {
+        return new ReadReplicaRoutingDataSource(primary, replicas, Duration.ofSeconds(5), Duration.ofSeconds(1),
+                meterRegistry);
+    }
+
+    private static String currentDatabase(ReadReplicaRoutingDataSource routing, boolean readOnly) {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status ->
+                new JdbcTemplate(dataSource).queryForObject("select name from instance", String.class));
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table instance (name varchar(20))");
+        jdbc.update("insert into instance values (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,75 @@
+package br.dev.ldemo.itau.json;
+
+import br.dev.ldemo.itau.dto.CustomerInputDto;
+import br.dev.ldemo.itau.dto.CustomerOutputDto;
+import br.dev.ldemo.itau.dto.CustomerWrapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The codec must produce and accept exactly what plain Jackson does.
+ */
+class QuoteJsonModuleTest {
+
+    private final ObjectMapper reflection = new Jackson2ObjectMapperBuilder().build();
+    private final ObjectMapper streaming = new Jackson2ObjectMapperBuilder().modulesToInstall(new QuoteJsonModule()).build();
+
+    @Test
+    void serialize_ShouldMatchReflectionOutput() throws Exception {
+        // Arrange
+        CustomerOutputDto quote = new CustomerOutputDto(1L, "Maria", "SP", 2500.5);
+        CustomerOutputDto unsaved = new CustomerOutputDto(null, "Maria", null, 2500.0);
+        CustomerWrapper wrapper = new CustomerWrapper();
+        wrapper.setCustomer(new CustomerInputDto("Maria", "12345678900", LocalDate.of(1990, 1, 2), "SP", 50000.0));
+
+        // Act / Assert
+        assertEquals(reflection.writeValueAsString(quote), streaming.writeValueAsString(quote));
+        assertEquals(reflection.writeValueAsString(unsaved), streaming.writeValueAsString(unsaved));
+        assertEquals(reflection.writeValueAsString(wrapper), streaming.writeValueAsString(wrapper));
+    }
+
+    @Test
+    void deserialize_ShouldMatchReflectionResult() throws Exception {
+        // Arrange
+        String json = """
+                {"extra": {"nested": [1, 2]}, "customer": {"name": "Maria", "document": 12345678900,
+                 "birthDate": "1990-01-02", "location": "SP", "vehicle_value": "50000.5", "unknown": true}}
+                """;
+
+        // Act
+        CustomerInputDto expected = reflection.readValue(json, CustomerWrapper.class).getCustomer();
+        CustomerInputDto actual = streaming.readValue(json, CustomerWrapper.class).getCustomer();
+
+        // Assert
+        assertEquals(expected, actual);
+        assertEquals(LocalDate.of(1990, 1, 2), actual.birthDate());
+        assertEquals(50000.5, actual.vehicle_value());
+    }
+
+    @Test
+    void deserialize_ShouldKeepNullsAndDefaults() throws Exception {
+        // Act
+        CustomerInputDto dto = streaming.readValue("{\"name\": null, \"birthDate\": null}", CustomerInputDto.class);
+
+        // Assert
+        assertNull(dto.name());
+        assertNull(dto.birthDate());
+        assertEquals(0.0, dto.vehicle_value());
+    }
+
+    @Test
+    void deserialize_ShouldRejectInvalidDateAsJacksonDoes() {
+        String json = "{\"birthDate\": \"1990-13-01\"}";
+
+        assertThrows(InvalidFormatException.class, () -> reflection.readValue(json, CustomerInputDto.class));
+        assertThrows(InvalidFormatException.class, () -> streaming.readValue(json, CustomerInputDto.class));
+    }
+}
@@ -0,0 +1,35 @@
+package br.dev.ldemo.itau.logging;
+
+import br.dev.ldemo.itau.dto.CustomerInputDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class PiiMaskingTest {
+
+    @Test
+    void mask_ShouldKeepOnlyLastTwoCharacters() {
+        assertEquals("*********00", PiiMasking.mask("12345678900"));
+        assertEquals("****", PiiMasking.mask("1234"));
+        assertEquals("M**** S****", PiiMasking.maskName("Maria Silva"));
+    }
+
+    @Test
+    void customerInputDtoToString_ShouldNotExposePersonalData() {
+        // Arrange
+        CustomerInputDto dto = new CustomerInputDto("Maria Silva", "12345678900", LocalDate.of(1990, 1, 1), "SP", 50000.0);
+
+        // Act
+        String logged = dto.toString();
+
+        // Assert
+        assertFalse(logged.contains("12345678900"), logged);
+        assertFalse(logged.contains("1990"), logged);
+        assertFalse(logged.contains("Silva"), logged);
+        assertEquals("CustomerInputDto[name=M**** S****, document=*********00, birthDate=****-**-**, location=SP, "
+                + "vehicle_value=50000.0]", logged);
+    }
+}
@@ -0,0 +1,86 @@
+package br.dev.ldemo.itau.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private static RateLimitProperties.Concurrency properties() {
+        RateLimitProperties.Concurrency properties = new RateLimitProperties.Concurrency();
+        properties.setInitialLimit(10);
+        properties.setMinLimit(2);
+        properties.setMaxLimit(20);
+        properties.setTargetP99(Duration.ofMillis(100));
+        properties.setWindow(Duration.ofSeconds(1));
+        properties.setBackoff(0.5);
+        return properties;
+    }
+
+    @Test
+    void tryAcquire_ShouldRejectAboveLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties(), 0);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+
+        // Act / Assert
+        assertFalse(limiter.tryAcquire());
+        assertEquals(10, limiter.getInFlight());
+    }
+
+    @Test
+    void release_ShouldShrinkLimitWhenP99AboveTarget() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties(), 0);
+        assertTrue(limiter.tryAcquire());
+
+        // Act
+        limiter.release(TimeUnit.MILLISECONDS.toNanos(300), SECOND);
+
+        // Assert
+        assertEquals(5, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void release_ShouldGrowLimitWhenSaturatedAndFast() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties(), 0);
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire();
+        }
+        assertFalse(limiter.tryAcquire());
+
+        // Act
+        limiter.release(TimeUnit.MILLISECONDS.toNanos(10), SECOND);
+
+        // Assert
+        assertEquals(11, limiter.getLimit());
+    }
+
+    @Test
+    void releaseUnsampled_ShouldKeepLongRequestsOutOfTheP99() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties(), 0);
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+
+        // Act
+        // a streaming export running for minutes, then a fast request closing the window
+        limiter.releaseUnsampled();
+        limiter.release(TimeUnit.MILLISECONDS.toNanos(10), SECOND);
+
+        // Assert
+        assertEquals(10, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+}
@@ -0,0 +1,152 @@
+package br.dev.ldemo.itau.ratelimit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final RateLimitProperties properties = new RateLimitProperties();
+
+    @Test
+    void doFilter_WhenClientQuotaIsExhausted_ShouldAnswer429WithRetryAfter() throws Exception {
+        // Arrange
+        properties.getDefaultQuota().setRequestsPerSecond(0.5);
+        properties.getDefaultQuota().setBurst(1);
+        RateLimitFilter filter = new RateLimitFilter(properties, objectMapper, meterRegistry);
+        filter.doFilter(request("/customers/1"), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Act
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request("/customers/1"), response, chain);
+
+        // Assert
+        assertEquals(429, response.getStatus());
+        assertEquals("2", response.getHeader(HttpHeaders.RETRY_AFTER));
+        JsonNode body = objectMapper.readTree(response.getContentAsByteArray());
+        assertEquals(429, body.get("status").asInt());
+        assertEquals("/customers/1", body.get("path").asText());
+        assertNull(chain.getRequest());
+        assertEquals(1.0, meterRegistry.get("http.requests.rejected").tags("reason", "rate_limit").counter().count());
+    }
+
+    @Test
+    void doFilter_WithUnknownApiKeys_ShouldShareTheQuotaOfTheRemoteAddress() throws Exception {
+        // Arrange
+        properties.getDefaultQuota().setRequestsPerSecond(0.5);
+        properties.getDefaultQuota().setBurst(1);
+        RateLimitFilter filter = new RateLimitFilter(properties, objectMapper, meterRegistry);
+        filter.doFilter(request("/customers/1", "random-1"), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Act
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("/customers/1", "random-2"), response, new MockFilterChain());
+
+        // Assert
+        assertEquals(429, response.getStatus());
+    }
+
+    @Test
+    void doFilter_WithConfiguredApiKey_ShouldUseThatClientQuota() throws Exception {
+        // Arrange
+        properties.getDefaultQuota().setRequestsPerSecond(0.5);
+        properties.getDefaultQuota().setBurst(1);
+        RateLimitProperties.Quota partnerQuota = new RateLimitProperties.Quota();
+        partnerQuota.setBurst(2);
+        properties.getClients().put("partner", partnerQuota);
+        RateLimitFilter filter = new RateLimitFilter(properties, objectMapper, meterRegistry);
+        filter.doFilter(request("/customers/1", "partner"), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Act
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("/customers/1", "partner"), response, new MockFilterChain());
+
+        // Assert
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    void doFilter_AboveConcurrencyLimit_ShouldAnswer503UntilAsyncRequestCompletes() throws Exception {
+        // Arrange
+        properties.getConcurrency().setInitialLimit(1);
+        properties.getConcurrency().setMinLimit(1);
+        RateLimitFilter filter = new RateLimitFilter(properties, objectMapper, meterRegistry);
+        MockHttpServletRequest streaming = request("/customers/quotes/stream");
+        // a streaming response: the handler returns and the body is written on another thread
+        FilterChain startsAsync = (request, response) -> ((HttpServletRequest) request).startAsync();
+        filter.doFilter(streaming, new MockHttpServletResponse(), startsAsync);
+        AsyncContext asyncContext = streaming.getAsyncContext();
+
+        // Act
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(request("/customers/1"), rejected, new MockFilterChain());
+        asyncContext.complete();
+        MockHttpServletResponse accepted = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request("/customers/1"), accepted, chain);
+
+        // Assert
+        assertEquals(503, rejected.getStatus());
+        assertEquals("1", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(200, accepted.getStatus());
+        assertNotNull(chain.getRequest());
+        assertEquals(0.0, meterRegistry.get("quote.concurrency.inflight").gauge().value());
+    }
+
+    @Test
+    void doFilter_OutsideCustomerEndpoints_ShouldNotBeLimited() throws Exception {
+        // Arrange
+        properties.getDefaultQuota().setRequestsPerSecond(0.5);
+        properties.getDefaultQuota().setBurst(1);
+        properties.getConcurrency().setInitialLimit(1);
+        properties.getConcurrency().setMinLimit(1);
+        RateLimitFilter filter = new RateLimitFilter(properties, objectMapper, meterRegistry);
+
+        // Act & Assert
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            MockFilterChain chain = new MockFilterChain();
+            filter.doFilter(request("/actuator/health"), response, chain);
+            assertEquals(200, response.getStatus());
+            assertNotNull(chain.getRequest());
+        }
+        assertEquals(0.0, meterRegistry.get("quote.concurrency.inflight").gauge().value());
+    }
+
+    @Test
+    void retryAfterSeconds_ShouldRoundUp() {
+        assertEquals(1, RateLimitFilter.retryAfterSeconds(1));
+        assertEquals(1, RateLimitFilter.retryAfterSeconds(SECOND));
+        assertEquals(2, RateLimitFilter.retryAfterSeconds(SECOND + 1));
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        return request(uri, "client-1");
+    }
+
+    private static MockHttpServletRequest request(String uri, String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setAsyncSupported(true);
+        request.addHeader("X-API-Key", apiKey);
+        return request;
+    }
+}
@@ -0,0 +1,58 @@
+package br.dev.ldemo.itau.repository;
+
+import br.dev.ldemo.itau.entity.Customer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures JDBC statements per saved quote. With IDENTITY ids every quote cost its own INSERT
+ * (1.0 statement per quote); pooled sequence ids plus hibernate.jdbc.batch_size amortize both
+ * the id fetch and the insert across the batch.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class CustomerRespositoryBatchInsertTest {
+
+    private static final int QUOTES = 200;
+
+    @Autowired
+    private CustomerRespository repository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void saveAll_ShouldBatchInsertsAndPoolIds() {
+        // Arrange
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<Customer> customers = IntStream.range(0, QUOTES)
+                .mapToObj(i -> Customer.builder()
+                        .name("Customer " + i)
+                        .document(String.format("%011d", i))
+                        .birthDate(LocalDate.of(1990, 1, 1))
+                        .location(i % 2 == 0 ? "SP" : "RJ")
+                        .vehicle_value(50000.0 + i)
+                        .build())
+                .toList();
+        statistics.clear();
+
+        // Act
+        repository.saveAll(customers);
+        repository.flush();
+
+        // Assert
+        double statementsPerQuote = (double) statistics.getPrepareStatementCount() / QUOTES;
+        assertEquals(QUOTES, statistics.getEntityInsertCount());
+        assertTrue(statementsPerQuote < 0.1, "Expected batched inserts but got " + statementsPerQuote + " statements per quote (IDENTITY baseline: 1.0)");
+    }
+}
@@ -0,0 +1,142 @@
+package br.dev.ldemo.itau.repository;
+
+import br.dev.ldemo.itau.dto.CustomerOutputDto;
+import br.dev.ldemo.itau.dto.CustomerSearchCriteria;
+import br.dev.ldemo.itau.entity.Customer;
+import br.dev.ldemo.itau.service.pricing.Location;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks with H2 EXPLAIN that the search queries are answered by the indexes declared on {@link Customer}.
+ * The explained SQL is the one Hibernate generates for {@link CustomerRespository#searchQuotes} with
+ * {@link CustomerSpecifications#matching}, captured with a {@link StatementInspector}.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "br.dev.ldemo.itau.repository.CustomerRespositoryIndexTest$CapturingStatementInspector")
+class CustomerRespositoryIndexTest {
+
+    private static final int QUOTES = 500;
+
+    private static final int PAGE_SIZE = 5;
+
+    @Autowired
+    private CustomerRespository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        Location[] locations = Location.values();
+        repository.saveAll(IntStream.range(0, QUOTES)
+                .mapToObj(i -> Customer.builder()
+                        .name("Customer " + i)
+                        .document(String.format("%011d", i))
+                        .birthDate(LocalDate.of(1960, 1, 1).plusDays(i * 30L))
+                        .location(locations[i % locations.length].name())
+                        .vehicle_value(50000.0 + i)
+                        .build())
+                .toList());
+        repository.flush();
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void searchByDocument_ShouldUseDocumentIndex() {
+        // Act
+        String plan = explainSearch(new CustomerSearchCriteria("00000000042", null, null, null), "00000000042");
+
+        // Assert
+        assertTrue(plan.contains("IDX_CUSTOMER_DOCUMENT"), plan);
+    }
+
+    @Test
+    void searchByLocation_ShouldUseLocationIndex() {
+        // Act
+        String plan = explainSearch(new CustomerSearchCriteria(null, "BA", null, null), "BA");
+
+        // Assert
+        assertTrue(plan.contains("IDX_CUSTOMER_LOCATION"), plan);
+    }
+
+    @Test
+    void searchByBirthDateRange_ShouldUseBirthDateIndex() {
+        // Arrange
+        LocalDate from = LocalDate.of(1970, 1, 1);
+        LocalDate to = LocalDate.of(1970, 12, 31);
+
+        // Act
+        String plan = explainSearch(new CustomerSearchCriteria(null, null, from, to), from, to);
+
+        // Assert
+        assertTrue(plan.contains("IDX_CUSTOMER_BIRTH_DATE"), plan);
+    }
+
+    @Test
+    void searchQuotes_ShouldReturnMatchingQuotesInIdOrder() {
+        // Arrange
+        CustomerSearchCriteria criteria = new CustomerSearchCriteria(null, "BA", LocalDate.of(1970, 1, 1), null);
+        entityManager.clear();
+
+        // Act
+        List<CustomerOutputDto> result = repository.searchQuotes(CustomerSpecifications.matching(criteria, 0), PAGE_SIZE);
+
+        // Assert
+        assertEquals(PAGE_SIZE, result.size());
+        assertTrue(result.stream().allMatch(quote -> quote.location().equals("BA")));
+        assertEquals(result.stream().map(CustomerOutputDto::id).sorted().toList(),
+                result.stream().map(CustomerOutputDto::id).toList());
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    /**
+     * Runs the search as the service does and explains the select Hibernate sent, binding the keyset
+     * position, {@code criteriaValues} (in predicate order) and the page size.
+     */
+    private String explainSearch(CustomerSearchCriteria criteria, Object... criteriaValues) {
+        CapturingStatementInspector.STATEMENTS.clear();
+        repository.searchQuotes(CustomerSpecifications.matching(criteria, 0), PAGE_SIZE);
+        String sql = CapturingStatementInspector.STATEMENTS.stream()
+                .filter(statement -> statement.toLowerCase().startsWith("select"))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+
+        List<Object> parameters = new ArrayList<>();
+        parameters.add(0L);
+        parameters.addAll(List.of(criteriaValues));
+        parameters.add(PAGE_SIZE);
+        assertEquals(parameters.size(), sql.chars().filter(c -> c == '?').count(), sql);
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, parameters.toArray()))
+                .toUpperCase();
+    }
+
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
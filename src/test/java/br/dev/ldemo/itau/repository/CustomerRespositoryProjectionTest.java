@@ -0,0 +1,56 @@
+package br.dev.ldemo.itau.repository;
+
+import br.dev.ldemo.itau.dto.CustomerOutputDto;
+import br.dev.ldemo.itau.entity.Customer;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+class CustomerRespositoryProjectionTest {
+
+    @Autowired
+    private CustomerRespository repository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void findQuotes_ShouldProjectWithoutLoadingEntities() {
+        // Arrange
+        Customer priced = repository.save(customer("Jonatan", 2500.0));
+        Customer legacy = repository.save(customer("Maria", null));
+        repository.flush();
+        entityManager.clear();
+
+        // Act
+        List<CustomerOutputDto> all = repository.findQuotesAfter(0L, Limit.of(10));
+        CustomerOutputDto byId = repository.findQuoteById(priced.getId()).orElseThrow();
+
+        // Assert
+        assertEquals(List.of(
+                new CustomerOutputDto(priced.getId(), "Jonatan", "SP", 2500.0),
+                new CustomerOutputDto(legacy.getId(), "Maria", "SP", 0.0)), all);
+        assertEquals(all.getFirst(), byId);
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    private static Customer customer(String name, Double premium) {
+        return Customer.builder()
+                .name(name)
+                .document("12345678900")
+                .birthDate(LocalDate.of(1990, 1, 1))
+                .location("SP")
+                .vehicle_value(50000.0)
+                .premium(premium)
+                .build();
+    }
+}
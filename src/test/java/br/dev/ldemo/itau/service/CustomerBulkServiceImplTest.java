@@ -0,0 +1,141 @@
+package br.dev.ldemo.itau.service;
+
+import br.dev.ldemo.itau.dto.BulkProgressDto;
+import br.dev.ldemo.itau.dto.QuoteFilter;
+import br.dev.ldemo.itau.repository.CustomerRespository;
+import br.dev.ldemo.itau.service.pricing.PricingProperties;
+import br.dev.ldemo.itau.service.pricing.PricingRuleEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CustomerBulkServiceImplTest {
+
+    @Mock
+    private CustomerRespository customerRespository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CustomerBulkServiceImpl customerBulkServiceImpl;
+
+    private final List<BulkProgressDto> progress = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        PricingProperties properties = new PricingProperties();
+        // the SP bands of application.yml
+        properties.setLocations(Map.of("SP", List.of(
+                PricingProperties.Band.of(70000.0, 0.05),
+                PricingProperties.Band.of(100000.0, 0.055),
+                PricingProperties.Band.of(null, 0.06))));
+        CustomerQuoteCache cache = new CustomerQuoteCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1), Duration.ofMinutes(1));
+        customerBulkServiceImpl = new CustomerBulkServiceImpl(customerRespository, new PricingRuleEngine(properties), cache, transactionManager);
+        ReflectionTestUtils.setField(customerBulkServiceImpl, "chunkSize", 2);
+    }
+
+    @Test
+    void delete_WithIds_ShouldDeleteInChunksAndReportProgress() {
+        // Arrange
+        QuoteFilter filter = new QuoteFilter(null, null);
+        when(customerRespository.deleteMatchingByIdIn(List.of(1L, 2L), null, null)).thenReturn(2);
+        when(customerRespository.deleteMatchingByIdIn(List.of(3L), null, null)).thenReturn(0);
+
+        // Act
+        customerBulkServiceImpl.delete(List.of(3L, 1L, 2L, 1L), filter, progress::add);
+
+        // Assert
+        assertEquals(List.of(
+                new BulkProgressDto(2, 2, 2L, false),
+                new BulkProgressDto(3, 2, 3L, false),
+                new BulkProgressDto(3, 2, 3L, true)), progress);
+    }
+
+    @Test
+    void delete_WithFilter_ShouldScanIdsAfterLastChunk() {
+        // Arrange
+        Instant before = Instant.parse("2026-01-01T00:00:00Z");
+        QuoteFilter filter = new QuoteFilter("SP", before);
+        when(customerRespository.findIdsMatching(eq(0L), eq("SP"), eq(before), any())).thenReturn(List.of(4L, 9L));
+        when(customerRespository.findIdsMatching(eq(9L), eq("SP"), eq(before), any())).thenReturn(List.of());
+        when(customerRespository.deleteMatchingByIdIn(List.of(4L, 9L), "SP", before)).thenReturn(2);
+
+        // Act
+        customerBulkServiceImpl.delete(null, filter, progress::add);
+
+        // Assert
+        assertEquals(new BulkProgressDto(2, 2, 9L, true), progress.getLast());
+    }
+
+    @Test
+    void reprice_ShouldIssueOneUpdatePerLocationAndBand() {
+        // Arrange
+        QuoteFilter filter = new QuoteFilter(null, null);
+        List<CustomerRespository.PricingRow> rows = List.of(
+                row(1L, 50000.0, "SP"), row(2L, 60000.0, "SP"), row(3L, 80000.0, "SP"));
+        when(customerRespository.findPricingRowsMatching(eq(0L), isNull(), isNull(), any())).thenReturn(rows);
+        when(customerRespository.findPricingRowsMatching(eq(3L), isNull(), isNull(), any())).thenReturn(List.of());
+        when(customerRespository.repriceByIdIn(eq(List.of(1L, 2L)), eq(0.05), any(), eq("SP"), isNull(), eq(70000.0)))
+                .thenReturn(2);
+        when(customerRespository.repriceByIdIn(eq(List.of(3L)), eq(0.055), any(), eq("SP"), eq(70000.0), eq(100000.0)))
+                .thenReturn(1);
+
+        // Act
+        customerBulkServiceImpl.reprice(filter, progress::add);
+
+        // Assert
+        verify(customerRespository, times(2)).repriceByIdIn(any(), anyDouble(), any(), any(), any(), any());
+        assertEquals(new BulkProgressDto(3, 3, 3L, true), progress.getLast());
+    }
+
+    @Test
+    void reprice_WhenQuoteChangedBandMeanwhile_ShouldNotCountIt() {
+        // Arrange
+        QuoteFilter filter = new QuoteFilter("SP", null);
+        when(customerRespository.findPricingRowsMatching(eq(0L), eq("SP"), isNull(), any()))
+                .thenReturn(List.of(row(1L, 120000.0, "SP")));
+        when(customerRespository.findPricingRowsMatching(eq(1L), eq("SP"), isNull(), any())).thenReturn(List.of());
+        // a PATCH moved the vehicle value out of the open-ended band after the scan
+        when(customerRespository.repriceByIdIn(eq(List.of(1L)), eq(0.06), any(), eq("SP"), eq(100000.0), isNull()))
+                .thenReturn(0);
+
+        // Act
+        customerBulkServiceImpl.reprice(filter, progress::add);
+
+        // Assert
+        assertEquals(new BulkProgressDto(1, 0, 1L, true), progress.getLast());
+    }
+
+    private static CustomerRespository.PricingRow row(Long id, Double vehicleValue, String location) {
+        return new CustomerRespository.PricingRow() {
+            public Long getId() {
+                return id;
+            }
+
+            public Double getVehicle_value() {
+                return vehicleValue;
+            }
+
+            public String getLocation() {
+                return location;
+            }
+        };
+    }
+}
@@ -0,0 +1,99 @@
+package br.dev.ldemo.itau.service;
+
+import br.dev.ldemo.itau.dto.CustomerInputDto;
+import br.dev.ldemo.itau.dto.QuoteBatchItemDto;
+import br.dev.ldemo.itau.dto.QuoteImportSummaryDto;
+import br.dev.ldemo.itau.repository.CustomerRespository;
+import br.dev.ldemo.itau.service.pricing.TieredRate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CustomerImportServiceImplTest {
+
+    @Mock
+    private CustomerRespository customerRespository;
+
+    @Mock
+    private InsuranceCalculatorServiceImpl insuranceCalculatorServiceImpl;
+
+    private CustomerImportServiceImpl customerImportServiceImpl;
+
+    private final List<QuoteBatchItemDto> rejections = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        QuotePricing quotePricing = new QuotePricing(insuranceCalculatorServiceImpl,
+                Validation.buildDefaultValidatorFactory().getValidator(), mock(QuoteMetrics.class));
+        customerImportServiceImpl = new CustomerImportServiceImpl(customerRespository, quotePricing,
+                new CustomerQuoteCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1), Duration.ofMinutes(1)),
+                new SimpleMeterRegistry(), 2);
+        ReflectionTestUtils.setField(customerImportServiceImpl, "chunkSize", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        customerImportServiceImpl.shutdown();
+    }
+
+    @Test
+    void importQuotes_ShouldSaveValidRowsInChunksAndReportRejected() {
+        // Arrange
+        List<CustomerInputDto> inputs = new ArrayList<>(IntStream.range(0, 4).mapToObj(i -> input("Customer " + i)).toList());
+        inputs.add(2, input(""));
+        when(insuranceCalculatorServiceImpl.tieredRate(anyDouble(), any())).thenReturn(new TieredRate(0.05, 0));
+
+        // Act
+        QuoteImportSummaryDto summary = customerImportServiceImpl.importQuotes(inputs.iterator(), rejections::add);
+
+        // Assert
+        assertEquals(5, summary.rows());
+        assertEquals(4, summary.imported());
+        assertEquals(1, summary.rejected());
+        assertTrue(summary.rowsPerSecond() > 0);
+        assertEquals(1, rejections.size());
+        assertEquals(2, rejections.getFirst().index());
+        assertTrue(rejections.getFirst().error().startsWith("name "), rejections.getFirst().error());
+        verify(customerRespository, times(3)).saveAll(anyList());
+    }
+
+    @Test
+    void importQuotes_WhenSaveFails_ShouldRejectTheChunk() {
+        // Arrange
+        when(insuranceCalculatorServiceImpl.tieredRate(anyDouble(), any())).thenReturn(new TieredRate(0.05, 0));
+        when(customerRespository.saveAll(anyList()))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(List.of());
+
+        // Act
+        QuoteImportSummaryDto summary = customerImportServiceImpl.importQuotes(
+                List.of(input("A"), input("B"), input("C")).iterator(), rejections::add);
+
+        // Assert
+        assertEquals(1, summary.imported());
+        assertEquals(2, summary.rejected());
+        assertEquals(List.of(0L, 1L), rejections.stream().map(QuoteBatchItemDto::index).toList());
+    }
+
+    private static CustomerInputDto input(String name) {
+        return new CustomerInputDto(name, "12345678900", LocalDate.of(1990, 1, 1), "SP", 50000.0);
+    }
+}
@@ -0,0 +1,80 @@
+package br.dev.ldemo.itau.service;
+
+import br.dev.ldemo.itau.dto.CustomerOutputDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CustomerQuoteCacheTest {
+
+    private final CustomerQuoteCache customerQuoteCache =
+            new CustomerQuoteCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1), Duration.ofMinutes(1));
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void get_CalledTwice_ShouldLoadOnce() {
+        // Act
+        customerQuoteCache.get(1L, this::load);
+        Optional<CustomerOutputDto> second = customerQuoteCache.get(1L, this::load);
+
+        // Assert
+        assertEquals(1L, second.orElseThrow().id());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_WhenInvalidatedDuringLoad_ShouldNotCacheTheLoadedQuote() {
+        // Act
+        customerQuoteCache.get(1L, id -> {
+            // an update committed while the query was running
+            customerQuoteCache.invalidate(id);
+            return load(id);
+        });
+        customerQuoteCache.get(1L, this::load);
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_WhenAnotherIdIsWrittenDuringLoad_ShouldCacheTheLoadedQuote() {
+        // Act
+        customerQuoteCache.get(1L, id -> {
+            customerQuoteCache.put(new CustomerOutputDto(2L, "Maria", "RJ", 2000.0));
+            customerQuoteCache.invalidate(3L);
+            return load(id);
+        });
+        customerQuoteCache.get(1L, this::load);
+
+        // Assert
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_WhenSavedDuringEmptyLoad_ShouldNotCacheTheMiss() {
+        // Act
+        Optional<CustomerOutputDto> first = customerQuoteCache.get(1L, id -> {
+            loads.incrementAndGet();
+            customerQuoteCache.invalidate(id);
+            return Optional.empty();
+        });
+        Optional<CustomerOutputDto> second = customerQuoteCache.get(1L, this::load);
+
+        // Assert
+        assertTrue(first.isEmpty());
+        assertTrue(second.isPresent());
+        assertEquals(2, loads.get());
+    }
+
+    private Optional<CustomerOutputDto> load(Long id) {
+        loads.incrementAndGet();
+        return Optional.of(new CustomerOutputDto(id, "Jonatan", "SP", 2500.0));
+    }
+}
@@ -2,24 +2,45 @@ package br.dev.ldemo.itau.service;
 
 import br.dev.ldemo.itau.dto.CustomerInputDto;
 import br.dev.ldemo.itau.dto.CustomerOutputDto;
+import br.dev.ldemo.itau.dto.CustomerPatchDto;
 import br.dev.ldemo.itau.dto.CustomerWrapper;
+import br.dev.ldemo.itau.dto.QuoteBatchItemDto;
 import br.dev.ldemo.itau.entity.Customer;
+import br.dev.ldemo.itau.exception.IdempotencyKeyReusedException;
 import br.dev.ldemo.itau.exception.ResourceNotFoundException;
 import br.dev.ldemo.itau.repository.CustomerRespository;
+import br.dev.ldemo.itau.service.pricing.Location;
+import br.dev.ldemo.itau.service.writebehind.QuoteWriteBehind;
+import br.dev.ldemo.itau.service.pricing.TieredRate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.time.LocalDate;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.notNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,7 +52,18 @@ public class CustomerServiceImplTest {
     @Mock
     private InsuranceCalculatorServiceImpl insuranceCalculatorServiceImpl;
 
-    @InjectMocks
+    @Spy
+    private CustomerQuoteCache customerQuoteCache =
+            new CustomerQuoteCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1), Duration.ofMinutes(1));
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private QuoteWriteBehind quoteWriteBehind;
+
+    @Mock
+    private QuoteMetrics quoteMetrics;
+
     private CustomerServiceImpl customerServiceImpl;
 
     private CustomerInputDto customerInputDto;
@@ -39,6 +71,10 @@ public class CustomerServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        customerServiceImpl = new CustomerServiceImpl(customerRespository,
+                new QuotePricing(insuranceCalculatorServiceImpl, validator, quoteMetrics),
+                customerQuoteCache, quoteWriteBehind, quoteMetrics);
+
         // Setup test data
         customerInputDto = new CustomerInputDto(
                 "Jonatan",
@@ -56,8 +92,8 @@ public class CustomerServiceImplTest {
     void calculateInsurance_ShouldReturnCorrectOutputDto() {
         // Arrange
         double expectedInsuranceValue = 2500.0;
-        when(insuranceCalculatorServiceImpl.calculate(customerInputDto.vehicle_value(), customerInputDto.location()))
-                .thenReturn(expectedInsuranceValue);
+        when(insuranceCalculatorServiceImpl.tieredRate(customerInputDto.vehicle_value(), Location.from(customerInputDto.location())))
+                .thenReturn(new TieredRate(0.05, 0));
 
         // Act
         CustomerOutputDto result = customerServiceImpl.calculateInsurance(customerWrapper);
@@ -68,7 +104,71 @@ public class CustomerServiceImplTest {
         assertEquals(customerInputDto.location(), result.location());
         assertEquals(expectedInsuranceValue, result.vehicle_value());
 
-        verify(customerRespository, times(1)).save(any(Customer.class));
+        ArgumentCaptor<Customer> saved = ArgumentCaptor.forClass(Customer.class);
+        verify(customerRespository, times(1)).save(saved.capture());
+        assertEquals(expectedInsuranceValue, saved.getValue().getPremium());
+        assertEquals(0.05, saved.getValue().getRate());
+        assertEquals(customerInputDto.vehicle_value(), saved.getValue().getVehicle_value());
+        assertNotNull(saved.getValue().getCalculatedAt());
+    }
+
+    @Test
+    void calculateInsurance_WithWriteBehindEnabled_ShouldQueueInsteadOfSaving() {
+        // Arrange
+        when(insuranceCalculatorServiceImpl.tieredRate(customerInputDto.vehicle_value(), Location.from(customerInputDto.location())))
+                .thenReturn(new TieredRate(0.05, 0));
+        when(quoteWriteBehind.isEnabled()).thenReturn(true);
+        when(quoteWriteBehind.submit(any(Customer.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        CustomerOutputDto result = customerServiceImpl.calculateInsurance(customerWrapper);
+
+        // Assert
+        assertNull(result.id());
+        assertEquals(2500.0, result.vehicle_value());
+        verify(quoteWriteBehind, times(1)).submit(any(Customer.class));
+        verify(customerRespository, never()).save(any(Customer.class));
+    }
+
+    @Test
+    void calculateInsurance_WithRepeatedIdempotencyKey_ShouldReturnStoredQuote() {
+        // Arrange
+        Customer stored = Customer.builder()
+                .id(7L)
+                .name(customerInputDto.name())
+                .location(customerInputDto.location())
+                .vehicle_value(customerInputDto.vehicle_value())
+                .premium(2500.0)
+                .idempotencyKey("retry-1")
+                .requestHash(customerInputDto.requestHash())
+                .build();
+        when(customerRespository.findByIdempotencyKey("retry-1")).thenReturn(Optional.of(stored));
+
+        // Act
+        CustomerOutputDto result = customerServiceImpl.calculateInsurance(customerWrapper, "retry-1");
+
+        // Assert
+        assertEquals(7L, result.id());
+        assertEquals(2500.0, result.vehicle_value());
+        verify(customerRespository, never()).save(any(Customer.class));
+        verifyNoInteractions(insuranceCalculatorServiceImpl);
+    }
+
+    @Test
+    void calculateInsurance_WithRepeatedIdempotencyKeyAndDifferentBody_ShouldThrowIdempotencyKeyReusedException() {
+        // Arrange
+        CustomerInputDto first = new CustomerInputDto("Jonatan", "12345678900", LocalDate.of(1990, 1, 1), "SP", 60000.0);
+        Customer stored = Customer.builder()
+                .id(7L)
+                .idempotencyKey("retry-1")
+                .requestHash(first.requestHash())
+                .build();
+        when(customerRespository.findByIdempotencyKey("retry-1")).thenReturn(Optional.of(stored));
+
+        // Act & Assert
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> customerServiceImpl.calculateInsurance(customerWrapper, "retry-1"));
+        verify(customerRespository, never()).save(any(Customer.class));
     }
 
     @Test
@@ -86,8 +186,8 @@ public class CustomerServiceImplTest {
         wrapper.setCustomer(rjCustomer);
 
         double expectedInsuranceValue = 2400.0;
-        when(insuranceCalculatorServiceImpl.calculate(rjCustomer.vehicle_value(), rjCustomer.location()))
-                .thenReturn(expectedInsuranceValue);
+        when(insuranceCalculatorServiceImpl.tieredRate(rjCustomer.vehicle_value(), Location.from(rjCustomer.location())))
+                .thenReturn(new TieredRate(0.04, 0));
 
         // Act
         CustomerOutputDto result = customerServiceImpl.calculateInsurance(wrapper);
@@ -116,8 +216,8 @@ public class CustomerServiceImplTest {
         wrapper.setCustomer(expensiveVehicle);
 
         double expectedInsuranceValue = 9000.0;
-        when(insuranceCalculatorServiceImpl.calculate(expensiveVehicle.vehicle_value(), expensiveVehicle.location()))
-                .thenReturn(expectedInsuranceValue);
+        when(insuranceCalculatorServiceImpl.tieredRate(expensiveVehicle.vehicle_value(), Location.from(expensiveVehicle.location())))
+                .thenReturn(new TieredRate(0.06, 0));
 
         // Act
         CustomerOutputDto result = customerServiceImpl.calculateInsurance(wrapper);
@@ -145,7 +245,7 @@ public class CustomerServiceImplTest {
         CustomerWrapper wrapper = new CustomerWrapper();
         wrapper.setCustomer(zeroVehicle);
 
-        when(insuranceCalculatorServiceImpl.calculate(zeroVehicle.vehicle_value(), zeroVehicle.location()))
+        when(insuranceCalculatorServiceImpl.tieredRate(zeroVehicle.vehicle_value(), Location.from(zeroVehicle.location())))
                 .thenThrow(new IllegalArgumentException("Invalid vehicle value or location"));
 
         // Act & Assert
@@ -153,65 +253,120 @@ public class CustomerServiceImplTest {
     }
 
     @Test
-    void getAllInsurance_ShouldReturnListOfCustomerOutputDto() {
+    void calculateInsuranceBatch_WithMalformedItem_ShouldReportItAndContinue() {
         // Arrange
-        List<Customer> customers = Arrays.asList(
-            Customer.builder()
-                .id(1L)
-                .name("Jonatan")
-                .document("12345678900")
-                .birthDate(LocalDate.of(1990, 1, 1))
-                .location("SP")
-                .vehicle_value(50000.0)
-                .build(),
-            Customer.builder()
-                .id(2L)
-                .name("Maria")
-                .document("98765432100")
-                .birthDate(LocalDate.of(1985, 5, 15))
-                .location("RJ")
-                .vehicle_value(60000.0)
-                .build()
-        );
+        when(insuranceCalculatorServiceImpl.tieredRate(anyDouble(), any())).thenReturn(new TieredRate(0.05, 0));
+        List<QuoteBatchItemDto> results = new ArrayList<>();
 
-        when(customerRespository.findAll()).thenReturn(customers);
+        // Act
+        customerServiceImpl.calculateInsuranceBatch(
+                items(customerInputDto, new IllegalStateException("Unexpected token"), customerInputDto), results::add);
+
+        // Assert
+        assertEquals(List.of(1L, 0L, 2L), results.stream().map(QuoteBatchItemDto::index).toList());
+        assertEquals("Malformed item: Unexpected token", results.get(0).error());
+        assertNull(results.get(0).quote());
+        assertEquals(2500.0, results.get(1).quote().vehicle_value());
+        assertNull(results.get(1).error());
+        verify(customerRespository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    void calculateInsuranceBatch_WithMalformedBody_ShouldStopAtTheBrokenItem() {
+        // Arrange
+        when(insuranceCalculatorServiceImpl.tieredRate(anyDouble(), any())).thenReturn(new TieredRate(0.05, 0));
+        Iterator<CustomerInputDto> truncated = new Iterator<>() {
+            private int read;
+
+            @Override
+            public boolean hasNext() {
+                if (read == 1) {
+                    throw new IllegalStateException("Unexpected end-of-input");
+                }
+                return true;
+            }
+
+            @Override
+            public CustomerInputDto next() {
+                read++;
+                return customerInputDto;
+            }
+        };
+        List<QuoteBatchItemDto> results = new ArrayList<>();
 
         // Act
-        List<CustomerOutputDto> result = customerServiceImpl.getAllInsurance();
+        customerServiceImpl.calculateInsuranceBatch(truncated, results::add);
 
         // Assert
-        assertNotNull(result);
-        assertEquals(2, result.size());
+        assertEquals(2, results.size());
+        assertEquals(1L, results.get(0).index());
+        assertEquals("Malformed request body: Unexpected end-of-input", results.get(0).error());
+        assertEquals(0L, results.get(1).index());
+        assertNotNull(results.get(1).quote());
+    }
+
+    @Test
+    void calculateInsuranceBatch_WithInvalidItem_ShouldReportItWithoutAbortingTheBatch() {
+        // Arrange
+        when(insuranceCalculatorServiceImpl.tieredRate(anyDouble(), any())).thenReturn(new TieredRate(0.05, 0));
+        CustomerInputDto invalid = new CustomerInputDto("", "12345678900", LocalDate.of(1990, 1, 1), "SP", 50000.0);
+        List<QuoteBatchItemDto> results = new ArrayList<>();
+
+        // Act
+        customerServiceImpl.calculateInsuranceBatch(items(customerInputDto, invalid, customerInputDto), results::add);
+
+        // Assert
+        assertEquals(3, results.size());
+        assertEquals(1L, results.get(0).index());
+        assertTrue(results.get(0).error().startsWith("name "), results.get(0).error());
+        assertEquals(List.of(0L, 2L), results.subList(1, 3).stream().map(QuoteBatchItemDto::index).toList());
+        assertTrue(results.subList(1, 3).stream().allMatch(result -> result.quote() != null));
+        verify(quoteMetrics, times(1)).validationFailed();
+    }
+
+    @Test
+    void calculateInsuranceBatch_WhenChunkSaveFails_ShouldReportEveryIndexOfTheChunk() {
+        // Arrange
+        ReflectionTestUtils.setField(customerServiceImpl, "batchChunkSize", 2);
+        when(insuranceCalculatorServiceImpl.tieredRate(anyDouble(), any())).thenReturn(new TieredRate(0.05, 0));
+        when(customerRespository.saveAll(anyList()))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(List.of());
+        List<QuoteBatchItemDto> results = new ArrayList<>();
 
-        // Verify first customer
-        assertEquals(1L, result.get(0).id());
-        assertEquals("Jonatan", result.get(0).name());
-        assertEquals("SP", result.get(0).location());
-        assertEquals(50000.0, result.get(0).vehicle_value());
+        // Act
+        customerServiceImpl.calculateInsuranceBatch(
+                items(customerInputDto, customerInputDto, customerInputDto), results::add);
 
-        // Verify second customer
-        assertEquals(2L, result.get(1).id());
-        assertEquals("Maria", result.get(1).name());
-        assertEquals("RJ", result.get(1).location());
-        assertEquals(60000.0, result.get(1).vehicle_value());
+        // Assert
+        assertEquals(List.of(0L, 1L, 2L), results.stream().map(QuoteBatchItemDto::index).toList());
+        assertEquals("Failed to save quote", results.get(0).error());
+        assertEquals("Failed to save quote", results.get(1).error());
+        assertNotNull(results.get(2).quote());
+        verify(customerRespository, times(2)).saveAll(anyList());
+    }
 
-        verify(customerRespository, times(1)).findAll();
+    @Test
+    void getInsurancePage_ShouldQueryAfterCursorWithClampedLimit() {
+        // Arrange
+        when(customerRespository.findQuotesAfter(10L, Limit.of(CustomerServiceImpl.MAX_PAGE_SIZE)))
+                .thenReturn(List.of(new CustomerOutputDto(11L, "Jonatan", "SP", 2500.0)));
+
+        // Act
+        List<CustomerOutputDto> result = customerServiceImpl.getInsurancePage(10L, 50_000);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(11L, result.get(0).id());
+        verify(customerRespository, never()).findAll();
     }
 
     @Test
     void getCustomerById_WithValidId_ShouldReturnCustomerOutputDto() {
         // Arrange
         Long customerId = 1L;
-        Customer customer = Customer.builder()
-            .id(customerId)
-            .name("Jonatan")
-            .document("12345678900")
-            .birthDate(LocalDate.of(1990, 1, 1))
-            .location("SP")
-            .vehicle_value(50000.0)
-            .build();
-
-        when(customerRespository.findById(customerId)).thenReturn(Optional.of(customer));
+        when(customerRespository.findQuoteById(customerId))
+                .thenReturn(Optional.of(new CustomerOutputDto(customerId, "Jonatan", "SP", 2500.0)));
 
         // Act
         CustomerOutputDto result = customerServiceImpl.getCustomerById(customerId);
@@ -221,16 +376,17 @@ public class CustomerServiceImplTest {
         assertEquals(customerId, result.id());
         assertEquals("Jonatan", result.name());
         assertEquals("SP", result.location());
-        assertEquals(50000.0, result.vehicle_value());
+        assertEquals(2500.0, result.vehicle_value());
 
-        verify(customerRespository, times(1)).findById(customerId);
+        verify(customerRespository, times(1)).findQuoteById(customerId);
+        verify(customerRespository, never()).findById(any());
     }
 
     @Test
     void getCustomerById_WithInvalidId_ShouldThrowResourceNotFoundException() {
         // Arrange
         Long invalidId = 999L;
-        when(customerRespository.findById(invalidId)).thenReturn(Optional.empty());
+        when(customerRespository.findQuoteById(invalidId)).thenReturn(Optional.empty());
 
         // Act & Assert
         ResourceNotFoundException exception = assertThrows(
@@ -239,22 +395,71 @@ public class CustomerServiceImplTest {
         );
 
         assertEquals("Customer not found", exception.getMessage());
-        verify(customerRespository, times(1)).findById(invalidId);
+        verify(customerRespository, times(1)).findQuoteById(invalidId);
     }
 
     @Test
-    void update_WithValidId_ShouldUpdateAndReturnCustomerOutputDto() {
+    void getCustomerById_CalledTwice_ShouldHitDatabaseOnce() {
+        // Arrange
+        Long customerId = 1L;
+        when(customerRespository.findQuoteById(customerId))
+                .thenReturn(Optional.of(new CustomerOutputDto(customerId, "Jonatan", "SP", 2500.0)));
+
+        // Act
+        CustomerOutputDto first = customerServiceImpl.getCustomerById(customerId);
+        CustomerOutputDto second = customerServiceImpl.getCustomerById(customerId);
+
+        // Assert
+        assertEquals(first, second);
+        verify(customerRespository, times(1)).findQuoteById(customerId);
+    }
+
+    @Test
+    void getCustomerById_WithReplicasAndQuoteNotReplicatedYet_ShouldReadItFromPrimary() {
         // Arrange
+        ReflectionTestUtils.setField(customerServiceImpl, "replicasEnabled", true);
         Long customerId = 1L;
-        Customer existingCustomer = Customer.builder()
-            .id(customerId)
-            .name("Jonatan")
-            .document("12345678900")
-            .birthDate(LocalDate.of(1990, 1, 1))
-            .location("SP")
-            .vehicle_value(50000.0)
-            .build();
+        CustomerOutputDto quote = new CustomerOutputDto(customerId, "Jonatan", "SP", 2500.0);
+        when(customerRespository.findQuoteById(customerId)).thenReturn(Optional.empty());
+        when(customerRespository.findQuoteOnPrimaryById(customerId)).thenReturn(Optional.of(quote));
+
+        // Act
+        CustomerOutputDto result = customerServiceImpl.getCustomerById(customerId);
+
+        // Assert
+        assertEquals(quote, result);
+    }
+
+    @Test
+    void getCustomerById_WithReplicasAndUnknownId_ShouldCacheNotFoundOnlyAfterPrimaryMiss() {
+        // Arrange
+        ReflectionTestUtils.setField(customerServiceImpl, "replicasEnabled", true);
+        Long invalidId = 999L;
+        when(customerRespository.findQuoteById(invalidId)).thenReturn(Optional.empty());
+        when(customerRespository.findQuoteOnPrimaryById(invalidId)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> customerServiceImpl.getCustomerById(invalidId));
+        assertThrows(ResourceNotFoundException.class, () -> customerServiceImpl.getCustomerById(invalidId));
+        verify(customerRespository, times(1)).findQuoteOnPrimaryById(invalidId);
+    }
+
+    @Test
+    void getCustomerById_WithUnknownIdCalledTwice_ShouldCacheNotFound() {
+        // Arrange
+        Long invalidId = 999L;
+        when(customerRespository.findQuoteById(invalidId)).thenReturn(Optional.empty());
 
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> customerServiceImpl.getCustomerById(invalidId));
+        assertThrows(ResourceNotFoundException.class, () -> customerServiceImpl.getCustomerById(invalidId));
+        verify(customerRespository, times(1)).findQuoteById(invalidId);
+    }
+
+    @Test
+    void update_WithValidId_ShouldUpdateAndReturnCustomerOutputDto() {
+        // Arrange
+        Long customerId = 1L;
         CustomerInputDto updatedData = new CustomerInputDto(
             "Jonatan Silva",
             "12345678900",
@@ -263,17 +468,9 @@ public class CustomerServiceImplTest {
             60000.0
         );
 
-        Customer updatedCustomer = Customer.builder()
-            .id(customerId)
-            .name(updatedData.name())
-            .document(updatedData.document())
-            .birthDate(updatedData.birthDate())
-            .location(updatedData.location())
-            .vehicle_value(updatedData.vehicle_value())
-            .build();
-
-        when(customerRespository.findById(customerId)).thenReturn(Optional.of(existingCustomer));
-        when(customerRespository.save(any(Customer.class))).thenReturn(updatedCustomer);
+        when(insuranceCalculatorServiceImpl.tieredRate(updatedData.vehicle_value(), Location.from(updatedData.location()))).thenReturn(new TieredRate(0.04, 0));
+        when(customerRespository.updateQuote(eq(customerId), eq("Jonatan Silva"), eq("12345678900"), eq(LocalDate.of(1990, 1, 1)),
+                eq("RJ"), eq(60000.0), eq(0.04), eq(2400.0), any(), isNull(), isNull())).thenReturn(1);
 
         // Act
         CustomerOutputDto result = customerServiceImpl.update(customerId, updatedData);
@@ -283,10 +480,10 @@ public class CustomerServiceImplTest {
         assertEquals(customerId, result.id());
         assertEquals(updatedData.name(), result.name());
         assertEquals(updatedData.location(), result.location());
-        assertEquals(updatedData.vehicle_value(), result.vehicle_value());
+        assertEquals(2400.0, result.vehicle_value());
 
-        verify(customerRespository, times(1)).findById(customerId);
-        verify(customerRespository, times(1)).save(any(Customer.class));
+        verify(customerRespository, never()).findById(any());
+        verify(customerRespository, never()).save(any(Customer.class));
     }
 
     @Test
@@ -301,7 +498,9 @@ public class CustomerServiceImplTest {
             60000.0
         );
 
-        when(customerRespository.findById(invalidId)).thenReturn(Optional.empty());
+        when(insuranceCalculatorServiceImpl.tieredRate(updatedData.vehicle_value(), Location.from(updatedData.location()))).thenReturn(new TieredRate(0.04, 0));
+        when(customerRespository.updateQuote(eq(invalidId), any(), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(0);
 
         // Act & Assert
         ResourceNotFoundException exception = assertThrows(
@@ -310,38 +509,112 @@ public class CustomerServiceImplTest {
         );
 
         assertEquals("Customer not found", exception.getMessage());
-        verify(customerRespository, times(1)).findById(invalidId);
         verify(customerRespository, never()).save(any(Customer.class));
     }
 
     @Test
-    void delete_WithValidId_ShouldDeleteCustomer() {
+    void patch_WithNameOnly_ShouldUpdateWithoutRepricing() {
         // Arrange
         Long customerId = 1L;
-        Customer existingCustomer = Customer.builder()
-            .id(customerId)
-            .name("Jonatan")
-            .document("12345678900")
-            .birthDate(LocalDate.of(1990, 1, 1))
-            .location("SP")
-            .vehicle_value(50000.0)
-            .build();
+        CustomerPatchDto patch = new CustomerPatchDto("Jonatan Silva", null, null, null, null);
+        when(customerRespository.updateQuote(customerId, "Jonatan Silva", null, null, null, null, null, null, null, null, null))
+                .thenReturn(1);
 
-        when(customerRespository.findById(customerId)).thenReturn(Optional.of(existingCustomer));
+        // Act
+        customerServiceImpl.patch(customerId, patch);
+
+        // Assert
+        verifyNoInteractions(insuranceCalculatorServiceImpl);
+        verify(customerRespository, never()).findPricingInputsById(any());
+    }
+
+    @Test
+    void patch_WithVehicleValueOnly_ShouldRepriceWithStoredLocation() {
+        // Arrange
+        Long customerId = 1L;
+        CustomerPatchDto patch = new CustomerPatchDto(null, null, null, null, 60000.0);
+        CustomerRespository.PricingInputs stored = mock(CustomerRespository.PricingInputs.class);
+        when(stored.getLocation()).thenReturn("SP");
+        when(customerRespository.findPricingInputsById(customerId)).thenReturn(Optional.of(stored));
+        when(insuranceCalculatorServiceImpl.tieredRate(60000.0, Location.SP)).thenReturn(new TieredRate(0.05, 0));
+        when(customerRespository.updateQuote(eq(customerId), isNull(), isNull(), isNull(),
+                eq("SP"), eq(60000.0), eq(0.05), eq(3000.0), notNull(), isNull(), eq("SP"))).thenReturn(1);
+
+        // Act
+        customerServiceImpl.patch(customerId, patch);
+
+        // Assert
+        verify(customerRespository, never()).findById(any());
+    }
+
+    @Test
+    void patch_WhenLocationChangesConcurrently_ShouldRepriceWithTheNewLocation() {
+        // Arrange
+        Long customerId = 1L;
+        CustomerPatchDto patch = new CustomerPatchDto(null, null, null, null, 60000.0);
+        CustomerRespository.PricingInputs before = mock(CustomerRespository.PricingInputs.class);
+        when(before.getLocation()).thenReturn("SP");
+        CustomerRespository.PricingInputs after = mock(CustomerRespository.PricingInputs.class);
+        when(after.getLocation()).thenReturn("RJ");
+        when(customerRespository.findPricingInputsById(customerId)).thenReturn(Optional.of(before), Optional.of(after));
+        when(insuranceCalculatorServiceImpl.tieredRate(60000.0, Location.SP)).thenReturn(new TieredRate(0.05, 0));
+        when(insuranceCalculatorServiceImpl.tieredRate(60000.0, Location.RJ)).thenReturn(new TieredRate(0.04, 0));
+        when(customerRespository.updateQuote(eq(customerId), isNull(), isNull(), isNull(),
+                eq("SP"), eq(60000.0), eq(0.05), eq(3000.0), notNull(), isNull(), eq("SP"))).thenReturn(0);
+        when(customerRespository.updateQuote(eq(customerId), isNull(), isNull(), isNull(),
+                eq("RJ"), eq(60000.0), eq(0.04), eq(2400.0), notNull(), isNull(), eq("RJ"))).thenReturn(1);
+
+        // Act
+        customerServiceImpl.patch(customerId, patch);
+
+        // Assert
+        verify(customerRespository, times(2)).findPricingInputsById(customerId);
+    }
+
+    @Test
+    void patch_WhenPricingInputsKeepChanging_ShouldThrowOptimisticLockingFailureException() {
+        // Arrange
+        Long customerId = 1L;
+        CustomerPatchDto patch = new CustomerPatchDto(null, null, null, null, 60000.0);
+        CustomerRespository.PricingInputs stored = mock(CustomerRespository.PricingInputs.class);
+        when(stored.getLocation()).thenReturn("SP");
+        when(customerRespository.findPricingInputsById(customerId)).thenReturn(Optional.of(stored));
+        when(insuranceCalculatorServiceImpl.tieredRate(60000.0, Location.SP)).thenReturn(new TieredRate(0.05, 0));
+
+        // Act & Assert
+        assertThrows(OptimisticLockingFailureException.class, () -> customerServiceImpl.patch(customerId, patch));
+        verify(customerRespository, times(3)).findPricingInputsById(customerId);
+    }
+
+    @Test
+    void patch_WithInvalidId_ShouldThrowResourceNotFoundException() {
+        // Arrange
+        Long invalidId = 999L;
+        CustomerPatchDto patch = new CustomerPatchDto(null, "98765432100", null, null, null);
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> customerServiceImpl.patch(invalidId, patch));
+    }
+
+    @Test
+    void delete_WithValidId_ShouldDeleteCustomer() {
+        // Arrange
+        Long customerId = 1L;
+        when(customerRespository.deleteQuoteById(customerId)).thenReturn(1);
 
         // Act
         customerServiceImpl.delete(customerId);
 
         // Assert
-        verify(customerRespository, times(1)).findById(customerId);
-        verify(customerRespository, times(1)).delete(existingCustomer);
+        verify(customerRespository, times(1)).deleteQuoteById(customerId);
+        verify(customerRespository, never()).findById(any());
     }
 
     @Test
     void delete_WithInvalidId_ShouldThrowResourceNotFoundException() {
         // Arrange
         Long invalidId = 999L;
-        when(customerRespository.findById(invalidId)).thenReturn(Optional.empty());
+        when(customerRespository.deleteQuoteById(invalidId)).thenReturn(0);
 
         // Act & Assert
         ResourceNotFoundException exception = assertThrows(
@@ -350,7 +623,28 @@ public class CustomerServiceImplTest {
         );
 
         assertEquals("Customer not found", exception.getMessage());
-        verify(customerRespository, times(1)).findById(invalidId);
-        verify(customerRespository, never()).delete(any(Customer.class));
+        verify(customerRespository, times(1)).deleteQuoteById(invalidId);
+    }
+
+    /**
+     * Items of a batch request; an exception stands for an item that cannot be read.
+     */
+    private static Iterator<CustomerInputDto> items(Object... items) {
+        Iterator<Object> iterator = List.of(items).iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public CustomerInputDto next() {
+                Object item = iterator.next();
+                if (item instanceof RuntimeException e) {
+                    throw e;
+                }
+                return (CustomerInputDto) item;
+            }
+        };
     }
 }
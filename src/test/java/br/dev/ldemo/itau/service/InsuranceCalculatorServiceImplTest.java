@@ -1,11 +1,16 @@
 package br.dev.ldemo.itau.service;
 
+import br.dev.ldemo.itau.service.pricing.Location;
+import br.dev.ldemo.itau.service.pricing.PricingProperties;
+import br.dev.ldemo.itau.service.pricing.PricingRuleEngine;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -17,7 +22,13 @@ class InsuranceCalculatorServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        insuranceCalculatorServiceImpl = new InsuranceCalculatorServiceImpl();
+        PricingProperties properties = new PricingProperties();
+        // the SP bands of application.yml
+        properties.setLocations(Map.of("SP", List.of(
+                PricingProperties.Band.of(70000.0, 0.05),
+                PricingProperties.Band.of(100000.0, 0.055),
+                PricingProperties.Band.of(null, 0.06))));
+        insuranceCalculatorServiceImpl = new InsuranceCalculatorServiceImpl(new PricingRuleEngine(properties));
     }
 
     @Test
@@ -128,6 +139,26 @@ class InsuranceCalculatorServiceImplTest {
         assertEquals(expected, result);
     }
 
+    @Test
+    void calculate_WithPrimitiveValueAndParsedLocation_ShouldMatchBoxedPath() {
+        // Arrange
+        double vehicleValue = 50000.0;
+
+        // Act
+        double result = insuranceCalculatorServiceImpl.calculate(vehicleValue, Location.SP);
+
+        // Assert
+        assertEquals(insuranceCalculatorServiceImpl.calculate(Double.valueOf(vehicleValue), "sp"), result);
+        assertEquals(2500.0, result);
+    }
+
+    @Test
+    void calculate_WithPrimitiveInvalidInputs_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> insuranceCalculatorServiceImpl.calculate(Double.NaN, Location.SP));
+        assertThrows(IllegalArgumentException.class, () -> insuranceCalculatorServiceImpl.calculate(0.0, Location.SP));
+        assertThrows(IllegalArgumentException.class, () -> insuranceCalculatorServiceImpl.calculate(50000.0, (Location) null));
+    }
+
     @ParameterizedTest
     @MethodSource("provideVehicleValuesAndLocations")
     void calculate_WithVariousInputs_ShouldReturnCorrectValues(
@@ -0,0 +1,30 @@
+package br.dev.ldemo.itau.service;
+
+import br.dev.ldemo.itau.service.pricing.Location;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class QuoteMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final QuoteMetrics quoteMetrics = new QuoteMetrics(meterRegistry);
+
+    @Test
+    void recordPricing_ShouldCountPerLocationAndTier() {
+        // Act
+        quoteMetrics.recordPricing(Location.SP, 0, 120);
+        quoteMetrics.recordPricing(Location.SP, 0, 150);
+        quoteMetrics.recordPricing(Location.RJ, 2, 110);
+        quoteMetrics.recordPricing(Location.RJ, 12, 130);
+
+        // Assert
+        assertEquals(2.0, meterRegistry.get("quote.priced").tags("location", "SP", "tier", "0").counter().count());
+        assertEquals(1.0, meterRegistry.get("quote.priced").tags("location", "RJ", "tier", "2").counter().count());
+        // tiers past the cap share the last counter
+        assertEquals(1.0, meterRegistry.get("quote.priced").tags("location", "RJ", "tier", "7").counter().count());
+        assertEquals(4, meterRegistry.get("quote.pricing").timer().count());
+    }
+}
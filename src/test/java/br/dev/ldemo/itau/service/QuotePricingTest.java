@@ -0,0 +1,54 @@
+package br.dev.ldemo.itau.service;
+
+import br.dev.ldemo.itau.dto.CustomerInputDto;
+import br.dev.ldemo.itau.service.pricing.PricingProperties;
+import br.dev.ldemo.itau.service.pricing.PricingRuleEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuotePricingTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final PricingRuleEngine pricingRuleEngine = new PricingRuleEngine(new PricingProperties());
+
+    private final QuotePricing quotePricing = new QuotePricing(new InsuranceCalculatorServiceImpl(pricingRuleEngine),
+            Validation.buildDefaultValidatorFactory().getValidator(), new QuoteMetrics(meterRegistry));
+
+    @Test
+    void validateAndPrice_WithValidInput_ShouldPriceAndRecordPricing() {
+        // Act
+        QuotePricing.Priced priced = quotePricing.validateAndPrice(input("Jonatan", 50000.0));
+
+        // Assert
+        assertNull(priced.error());
+        // the default bands: SP has no bands of its own in these properties
+        assertEquals(2000.0, priced.customer().getPremium());
+        assertNotNull(priced.customer().getCalculatedAt());
+        assertEquals(1, meterRegistry.get("quote.pricing").timer().count());
+        assertEquals(1.0, meterRegistry.get("quote.priced").tags("location", "SP", "tier", "0").counter().count());
+    }
+
+    @Test
+    void validateAndPrice_WithInvalidInput_ShouldRejectAndCountIt() {
+        // Act
+        QuotePricing.Priced blankName = quotePricing.validateAndPrice(input("", 50000.0));
+        QuotePricing.Priced missing = quotePricing.validateAndPrice(null);
+
+        // Assert
+        assertNull(blankName.customer());
+        assertTrue(blankName.error().startsWith("name "), blankName.error());
+        assertEquals("Customer is required", missing.error());
+        assertEquals(2.0, meterRegistry.get("quote.validation.failures").counter().count());
+        assertEquals(0, meterRegistry.get("quote.pricing").timer().count());
+    }
+
+    private static CustomerInputDto input(String name, double vehicleValue) {
+        return new CustomerInputDto(name, "12345678900", LocalDate.of(1990, 1, 1), "SP", vehicleValue);
+    }
+}
@@ -0,0 +1,120 @@
+package br.dev.ldemo.itau.service.pricing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PricingRuleTableTest {
+
+    @Test
+    void rate_ShouldUseInclusiveUpperBoundsAndLocationOverrides() {
+        // Arrange
+        PricingRuleTable table = PricingRuleTable.compile(withOriginalLocations(new PricingProperties()));
+
+        // Act & Assert
+        assertEquals(0.05, table.rate(70000.0, Location.SP));
+        assertEquals(0.04, table.rate(70000.0, Location.RJ));
+        assertEquals(0.04, table.rate(70000.0, Location.OTHER));
+        assertEquals(0.055, table.rate(70000.01, Location.SP));
+        assertEquals(0.055, table.rate(100000.0, Location.MG));
+        assertEquals(0.06, table.rate(100000.01, Location.MG));
+        assertEquals(0.06, table.rate(Double.MAX_VALUE, Location.SP));
+    }
+
+    @Test
+    void lookup_ShouldReturnRateAndTierOfTheSameBand() {
+        // Arrange
+        PricingRuleTable table = PricingRuleTable.compile(withOriginalLocations(new PricingProperties()));
+
+        // Act & Assert
+        assertEquals(new TieredRate(0.05, 0), table.lookup(70000.0, Location.SP));
+        assertEquals(new TieredRate(0.055, 1), table.lookup(70000.01, Location.SP));
+        assertEquals(new TieredRate(0.06, 2), table.lookup(100000.01, Location.MG));
+    }
+
+    @Test
+    void compile_WithoutLocations_ShouldUseDefaultBandsEverywhere() {
+        // Act
+        PricingRuleTable table = PricingRuleTable.compile(new PricingProperties());
+
+        // Assert
+        assertEquals(0.04, table.rate(70000.0, Location.SP));
+        assertEquals(0.04, table.rate(70000.0, Location.RJ));
+    }
+
+    @Test
+    void compile_WithManyBands_ShouldSelectBandByBinarySearch() {
+        // Arrange
+        PricingProperties properties = new PricingProperties();
+        properties.setVersion("2");
+        properties.setBands(List.of(
+                PricingProperties.Band.of(10000.0, 0.01),
+                PricingProperties.Band.of(20000.0, 0.02),
+                PricingProperties.Band.of(30000.0, 0.03),
+                PricingProperties.Band.of(40000.0, 0.04),
+                PricingProperties.Band.of(null, 0.05)));
+        properties.setLocations(Map.of("ba", List.of(PricingProperties.Band.of(null, 0.07))));
+
+        // Act
+        PricingRuleTable table = PricingRuleTable.compile(properties);
+
+        // Assert
+        assertEquals("2", table.getVersion());
+        assertEquals(0.01, table.rate(1.0, Location.SP));
+        assertEquals(0.03, table.rate(25000.0, Location.SP));
+        assertEquals(0.04, table.rate(40000.0, Location.SP));
+        assertEquals(0.05, table.rate(40000.5, Location.SP));
+        assertEquals(0.07, table.rate(25000.0, Location.BA));
+    }
+
+    @Test
+    void compile_WithInvalidBands_ShouldThrowException() {
+        PricingProperties unordered = new PricingProperties();
+        unordered.setBands(List.of(PricingProperties.Band.of(20000.0, 0.02), PricingProperties.Band.of(10000.0, 0.01),
+                PricingProperties.Band.of(null, 0.05)));
+        PricingProperties closed = new PricingProperties();
+        closed.setBands(List.of(PricingProperties.Band.of(20000.0, 0.02)));
+        PricingProperties unknownLocation = new PricingProperties();
+        unknownLocation.setLocations(Map.of("XX", List.of(PricingProperties.Band.of(null, 0.05))));
+
+        assertThrows(IllegalArgumentException.class, () -> PricingRuleTable.compile(unordered));
+        assertThrows(IllegalArgumentException.class, () -> PricingRuleTable.compile(closed));
+        assertThrows(IllegalArgumentException.class, () -> PricingRuleTable.compile(unknownLocation));
+    }
+
+    @Test
+    void publish_ShouldSwapActiveVersion() {
+        // Arrange
+        PricingRuleEngine engine = new PricingRuleEngine(new PricingProperties());
+        PricingProperties next = new PricingProperties();
+        next.setVersion("2");
+
+        // Act
+        PricingRuleTable table = engine.reload(next);
+
+        // Assert
+        assertSame(table, engine.current());
+        assertEquals("2", engine.current().getVersion());
+    }
+
+    @Test
+    void from_ShouldParseStatesIgnoringCase() {
+        assertEquals(Location.SP, Location.from("sp"));
+        assertEquals(Location.TO, Location.from("To"));
+        assertEquals(Location.OTHER, Location.from("São Paulo"));
+        assertEquals(Location.OTHER, Location.from("S1"));
+    }
+
+    private static PricingProperties withOriginalLocations(PricingProperties properties) {
+        properties.setLocations(Map.of("SP", List.of(
+                PricingProperties.Band.of(70000.0, 0.05),
+                PricingProperties.Band.of(100000.0, 0.055),
+                PricingProperties.Band.of(null, 0.06))));
+        return properties;
+    }
+}
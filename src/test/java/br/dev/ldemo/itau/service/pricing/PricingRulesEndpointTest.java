@@ -0,0 +1,57 @@
+package br.dev.ldemo.itau.service.pricing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PricingRulesEndpointTest {
+
+    @TempDir
+    private Path directory;
+
+    private final PricingProperties properties = new PricingProperties();
+
+    private final PricingRuleEngine engine = new PricingRuleEngine(properties);
+
+    private final PricingRulesEndpoint endpoint = new PricingRulesEndpoint(engine, properties, new ObjectMapper());
+
+    @Test
+    void reload_ShouldActivateTheRulesOfTheFile() throws IOException {
+        // Arrange
+        Path file = directory.resolve("pricing-rules.json");
+        Files.writeString(file, """
+                {"version": "2", "bands": [{"upTo": 50000, "rate": 0.03}, {"rate": 0.07}],
+                 "locations": {"RJ": [{"rate": 0.08}]}}
+                """);
+        properties.setRulesFile(file);
+
+        // Act
+        PricingRulesEndpoint.PricingRulesInfo info = endpoint.reload();
+
+        // Assert
+        assertEquals("2", info.version());
+        assertEquals(0.07, engine.current().rate(60000.0, Location.SP));
+        assertEquals(0.08, engine.current().rate(10000.0, Location.RJ));
+    }
+
+    @Test
+    void reload_WithInvalidFile_ShouldKeepTheActiveRules() throws IOException {
+        // Arrange
+        Path file = directory.resolve("pricing-rules.json");
+        Files.writeString(file, "{\"version\": \"2\", \"bands\": [");
+        properties.setRulesFile(file);
+
+        // Act
+        assertThrows(RuntimeException.class, endpoint::reload);
+
+        // Assert
+        assertEquals("1", endpoint.rules().version());
+    }
+}
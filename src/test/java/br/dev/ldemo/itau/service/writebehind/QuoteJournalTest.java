@@ -0,0 +1,143 @@
+package br.dev.ldemo.itau.service.writebehind;
+
+import br.dev.ldemo.itau.entity.Customer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class QuoteJournalTest {
+
+    private static final long SEGMENT_SIZE = 1024 * 1024;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void open_AfterRestart_ShouldReplayEntriesAfterTheCheckpoint() throws IOException {
+        // Arrange
+        try (QuoteJournal journal = new QuoteJournal(directory, objectMapper, SEGMENT_SIZE)) {
+            journal.open();
+            for (String name : List.of("A", "B", "C")) {
+                journal.sync(journal.append(customer(name), entry -> { }));
+            }
+            journal.commit(1);
+        }
+
+        // Act
+        List<QuoteJournal.Entry> pending;
+        try (QuoteJournal journal = new QuoteJournal(directory, objectMapper, SEGMENT_SIZE)) {
+            pending = journal.open();
+        }
+
+        // Assert
+        assertEquals(List.of(2L, 3L), pending.stream().map(QuoteJournal.Entry::sequence).toList());
+        assertEquals(List.of("B", "C"), pending.stream().map(entry -> entry.customer().getName()).toList());
+    }
+
+    @Test
+    void open_WithTornLastLine_ShouldSkipItAndKeepAppending() throws IOException {
+        // Arrange
+        try (QuoteJournal journal = new QuoteJournal(directory, objectMapper, SEGMENT_SIZE)) {
+            journal.open();
+            journal.sync(journal.append(customer("A"), entry -> { }));
+        }
+        // a crash in the middle of an append
+        Files.writeString(segments().getFirst(), "2\t{\"name\":\"B", StandardOpenOption.APPEND);
+
+        // Act
+        try (QuoteJournal journal = new QuoteJournal(directory, objectMapper, SEGMENT_SIZE)) {
+            assertEquals(1, journal.open().size());
+            journal.sync(journal.append(customer("C"), entry -> { }));
+        }
+        List<QuoteJournal.Entry> pending;
+        try (QuoteJournal journal = new QuoteJournal(directory, objectMapper, SEGMENT_SIZE)) {
+            pending = journal.open();
+        }
+
+        // Assert
+        assertEquals(List.of("A", "C"), pending.stream().map(entry -> entry.customer().getName()).toList());
+        assertEquals(List.of(1L, 2L), pending.stream().map(QuoteJournal.Entry::sequence).toList());
+    }
+
+    @Test
+    void commit_PastSegmentSize_ShouldStartNewSegmentAndDeleteSavedOnes() throws IOException {
+        try (QuoteJournal journal = new QuoteJournal(directory, objectMapper, 1)) {
+            // Arrange
+            journal.open();
+            journal.sync(journal.append(customer("A"), entry -> { }));
+            journal.sync(journal.append(customer("B"), entry -> { }));
+            Path first = segments().getFirst();
+
+            // Act
+            journal.commit(2);
+            journal.sync(journal.append(customer("C"), entry -> { }));
+            journal.sync(journal.append(customer("D"), entry -> { }));
+            journal.commit(3);
+
+            // Assert
+            List<Path> segments = segments();
+            assertEquals(2, segments.size());
+            assertFalse(segments.contains(first));
+            assertEquals("quotes-00000000000000000003.journal", segments.getFirst().getFileName().toString());
+        }
+        try (QuoteJournal journal = new QuoteJournal(directory, objectMapper, 1)) {
+            assertEquals(List.of(4L), journal.open().stream().map(QuoteJournal.Entry::sequence).toList());
+        }
+    }
+
+    @Test
+    void sync_FromConcurrentAppends_ShouldMakeEveryEntryDurable() throws Exception {
+        // Arrange
+        List<Future<?>> appends = new ArrayList<>();
+        try (QuoteJournal journal = new QuoteJournal(directory, objectMapper, SEGMENT_SIZE);
+             ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            journal.open();
+
+            // Act
+            for (int i = 0; i < 200; i++) {
+                Customer customer = customer("Customer " + i);
+                appends.add(executor.submit(() -> {
+                    journal.sync(journal.append(customer, entry -> { }));
+                    return null;
+                }));
+            }
+            for (Future<?> append : appends) {
+                append.get();
+            }
+        }
+
+        // Assert
+        try (QuoteJournal journal = new QuoteJournal(directory, objectMapper, SEGMENT_SIZE)) {
+            List<QuoteJournal.Entry> pending = journal.open();
+            assertEquals(200, pending.size());
+            assertEquals(200L, pending.getLast().sequence());
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".journal")).sorted().toList();
+        }
+    }
+
+    private static Customer customer(String name) {
+        return Customer.builder().name(name).location("SP").vehicle_value(50000.0).build();
+    }
+}
@@ -0,0 +1,175 @@
+package br.dev.ldemo.itau.service.writebehind;
+
+import br.dev.ldemo.itau.entity.Customer;
+import br.dev.ldemo.itau.exception.ApiErrorResponse;
+import br.dev.ldemo.itau.exception.QuoteQueueFullException;
+import br.dev.ldemo.itau.exception.handler.GlobalExceptionHandler;
+import br.dev.ldemo.itau.repository.CustomerRespository;
+import br.dev.ldemo.itau.service.QuoteMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QuoteWriteBehindTest {
+
+    @Mock
+    private CustomerRespository customerRespository;
+
+    @TempDir
+    private Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    // holds the writer inside saveAll until released
+    private final CountDownLatch saved = new CountDownLatch(1);
+
+    private WriteBehindProperties properties;
+
+    private QuoteWriteBehind quoteWriteBehind;
+
+    @BeforeEach
+    void setUp() {
+        properties = new WriteBehindProperties();
+        properties.setEnabled(true);
+        properties.setJournalDirectory(directory);
+        properties.setQueueCapacity(1);
+        properties.setOfferTimeout(Duration.ofMillis(10));
+        properties.setFlushInterval(Duration.ofMillis(10));
+        properties.setRetryBackoff(Duration.ofMillis(10));
+        quoteWriteBehind = new QuoteWriteBehind(customerRespository, properties, objectMapper, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        saved.countDown();
+        quoteWriteBehind.stop();
+    }
+
+    @Test
+    void submit_WhenQueueIsFull_ShouldBeRejectedWith503() {
+        // Arrange
+        when(customerRespository.saveAll(anyList())).thenAnswer(invocation -> {
+            saved.await();
+            return invocation.getArgument(0);
+        });
+        quoteWriteBehind.start();
+        quoteWriteBehind.submit(customer("A", null));
+
+        // Act
+        QuoteQueueFullException exception = assertThrows(QuoteQueueFullException.class,
+                () -> quoteWriteBehind.submit(customer("B", null)));
+        ResponseEntity<ApiErrorResponse> response = new GlobalExceptionHandler(mock(QuoteMetrics.class))
+                .handleQuoteQueueFull(exception, new MockHttpServletRequest("POST", "/customers/quote"));
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+    }
+
+    @Test
+    void submit_WithIdempotencyKeyStillQueued_ShouldReturnTheQueuedQuote() {
+        // Arrange
+        when(customerRespository.saveAll(anyList())).thenAnswer(invocation -> {
+            saved.await();
+            return invocation.getArgument(0);
+        });
+        quoteWriteBehind.start();
+        Customer first = customer("A", "retry-1");
+
+        // Act
+        Customer accepted = quoteWriteBehind.submit(first);
+        Customer retried = quoteWriteBehind.submit(customer("A", "retry-1"));
+        saved.countDown();
+        quoteWriteBehind.stop();
+
+        // Assert
+        assertSame(first, accepted);
+        assertSame(first, retried);
+        verify(customerRespository, times(1)).saveAll(List.of(first));
+    }
+
+    @Test
+    void persistEach_WhenSaveFailsAfterConstraintViolation_ShouldRetryAndKeepWriting() {
+        // Arrange
+        properties.setOfferTimeout(Duration.ofSeconds(5));
+        when(customerRespository.saveAll(anyList()))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(customerRespository.save(any(Customer.class)))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        quoteWriteBehind.start();
+
+        // Act
+        quoteWriteBehind.submit(customer("A", null));
+        // waits for the writer to release the only slot of the queue
+        quoteWriteBehind.submit(customer("B", null));
+        quoteWriteBehind.stop();
+
+        CustomerRespository restartedRepository = mock(CustomerRespository.class);
+        QuoteWriteBehind restarted =
+                new QuoteWriteBehind(restartedRepository, properties, objectMapper, new SimpleMeterRegistry());
+        restarted.start();
+        restarted.stop();
+
+        // Assert
+        verify(customerRespository, times(2)).save(any(Customer.class));
+        verify(customerRespository, times(2)).saveAll(anyList());
+        verifyNoInteractions(restartedRepository);
+    }
+
+    @Test
+    void start_AfterRestart_ShouldSaveTheJournaledQuotes() {
+        // Arrange
+        when(customerRespository.saveAll(anyList())).thenThrow(new DataAccessResourceFailureException("down"));
+        quoteWriteBehind.start();
+        quoteWriteBehind.submit(customer("A", null));
+        quoteWriteBehind.stop();
+
+        CustomerRespository restartedRepository = mock(CustomerRespository.class);
+        QuoteWriteBehind restarted =
+                new QuoteWriteBehind(restartedRepository, properties, objectMapper, new SimpleMeterRegistry());
+
+        // Act
+        restarted.start();
+        restarted.stop();
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Customer>> replayed = ArgumentCaptor.forClass(List.class);
+        verify(restartedRepository, times(1)).saveAll(replayed.capture());
+        assertEquals(List.of("A"), replayed.getValue().stream().map(Customer::getName).toList());
+    }
+
+    private static Customer customer(String name, String idempotencyKey) {
+        return Customer.builder()
+                .name(name)
+                .location("SP")
+                .vehicle_value(50000.0)
+                .idempotencyKey(idempotencyKey)
+                .build();
+    }
+}
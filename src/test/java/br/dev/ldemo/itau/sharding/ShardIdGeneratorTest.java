@@ -0,0 +1,55 @@
+package br.dev.ldemo.itau.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardIdGeneratorTest {
+
+    @Test
+    void nextId_ShouldEncodeShardAndGrowAcrossShards_WithinSameMillisecond() {
+        // Arrange
+        ShardIdGenerator generator = new ShardIdGenerator(3, () -> ShardIdGenerator.EPOCH + 1000);
+        Set<Long> ids = new HashSet<>();
+        long previous = 0;
+
+        // Act / Assert
+        for (int i = 0; i < 10_000; i++) {
+            int shard = i % 5;
+            long id = generator.nextId(shard);
+            assertEquals(shard, ShardIdGenerator.shardOf(id));
+            assertTrue(id > 0);
+            assertTrue((id >>> 22) >= 1000, "sequence overflow must only move time forward");
+            assertTrue(ids.add(id));
+            // later ids are larger whatever their shard, so a keyset merged from every shard skips nothing
+            assertTrue(id > previous);
+            previous = id;
+        }
+    }
+
+    @Test
+    void nextId_ShouldStayUnique_WhenClockGoesBack() {
+        // Arrange
+        AtomicLong clock = new AtomicLong(ShardIdGenerator.EPOCH + 5000);
+        ShardIdGenerator generator = new ShardIdGenerator(0, clock::get);
+        long first = generator.nextId(1);
+
+        // Act
+        clock.set(ShardIdGenerator.EPOCH + 4000);
+        long second = generator.nextId(1);
+
+        // Assert
+        assertTrue(second > first);
+    }
+
+    @Test
+    void constructor_ShouldRejectWorkerOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new ShardIdGenerator(16, System::currentTimeMillis));
+    }
+}
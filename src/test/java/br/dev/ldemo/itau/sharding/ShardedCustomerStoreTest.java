@@ -0,0 +1,104 @@
+package br.dev.ldemo.itau.sharding;
+
+import br.dev.ldemo.itau.dto.CustomerOutputDto;
+import br.dev.ldemo.itau.entity.Customer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Three in-memory H2 databases act as shards.
+ */
+class ShardedCustomerStoreTest {
+
+    private List<DataSource> shards;
+    private ShardedCustomerStore store;
+
+    @BeforeEach
+    void setUp() {
+        ResourceDatabasePopulator schema = new ResourceDatabasePopulator(new ClassPathResource("db/sharding/schema.sql"));
+        shards = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            DataSource shard = new DriverManagerDataSource(
+                    "jdbc:h2:mem:shard" + i + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+            DatabasePopulatorUtils.execute(schema, shard);
+            shards.add(shard);
+        }
+        store = new ShardedCustomerStore(shards, 0);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        store.destroy();
+    }
+
+    @Test
+    void save_ShouldStoreCustomerOnlyInShardOfDocument() {
+        // Arrange
+        Customer customer = customer("12345678900");
+
+        // Act
+        store.save(customer);
+
+        // Assert
+        int shard = store.shardFor("12345678900");
+        assertEquals(shard, ShardIdGenerator.shardOf(customer.getId()));
+        for (int i = 0; i < shards.size(); i++) {
+            Integer rows = new JdbcTemplate(shards.get(i))
+                    .queryForObject("select count(*) from customer where id = ?", Integer.class, customer.getId());
+            assertEquals(i == shard ? 1 : 0, rows);
+        }
+        assertEquals(new CustomerOutputDto(customer.getId(), "Maria", "SP", 2500.0),
+                store.findQuoteById(customer.getId()).orElseThrow());
+    }
+
+    @Test
+    void findQuotesAfter_ShouldMergeShardsInIdOrder() {
+        // Arrange
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            Customer customer = customer("doc-" + i);
+            store.save(customer);
+            ids.add(customer.getId());
+        }
+        ids.sort(Long::compare);
+
+        // Act
+        List<CustomerOutputDto> firstPage = store.findQuotesAfter(0, 20);
+        List<CustomerOutputDto> secondPage = store.findQuotesAfter(firstPage.getLast().id(), 20);
+
+        // Assert
+        assertEquals(ids.subList(0, 20), firstPage.stream().map(CustomerOutputDto::id).toList());
+        assertEquals(ids.subList(20, 30), secondPage.stream().map(CustomerOutputDto::id).toList());
+        long shardsUsed = ids.stream().map(ShardIdGenerator::shardOf).distinct().count();
+        assertTrue(shardsUsed > 1);
+    }
+
+    private static Customer customer(String document) {
+        return Customer.builder()
+                .name("Maria")
+                .document(document)
+                .birthDate(LocalDate.of(1990, 1, 1))
+                .location("SP")
+                .vehicle_value(50000.0)
+                .rate(0.05)
+                .premium(2500.0)
+                .calculatedAt(Instant.now())
+                .build();
+    }
+}